@@ -0,0 +1,142 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Empréstimo devolvido movido da tabela {@code loans} para o arquivo frio.
+ * Mantém o ID original e referencia usuário e livro apenas pelos IDs.
+ */
+@Entity
+@Table(name = "loans_archive", indexes = {
+        @Index(name = "idx_loans_archive_user", columnList = "user_id")
+})
+public class ArchivedLoan implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false)
+    private LocalDate loanDate;
+
+    @Column(nullable = false)
+    private LocalDate returnDate;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // O ID é atribuído a partir do empréstimo original; evita o merge (SELECT) no save
+    @Transient
+    private boolean isNew = true;
+
+    // Construtores
+    public ArchivedLoan() {
+    }
+
+    public ArchivedLoan(Loan loan, LocalDateTime archivedAt) {
+        this.id = loan.getId();
+        this.userId = loan.getUser().getId();
+        this.bookId = loan.getBook().getId();
+        this.loanDate = loan.getLoanDate();
+        this.returnDate = loan.getReturnDate();
+        this.archivedAt = archivedAt;
+    }
+
+    // Getters e setters
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public LocalDate getLoanDate() {
+        return loanDate;
+    }
+
+    public void setLoanDate(LocalDate loanDate) {
+        this.loanDate = loanDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public void setReturnDate(LocalDate returnDate) {
+        this.returnDate = returnDate;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArchivedLoan)) return false;
+        ArchivedLoan that = (ArchivedLoan) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedLoan{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", bookId=" + bookId +
+                ", loanDate=" + loanDate +
+                ", returnDate=" + returnDate +
+                '}';
+    }
+}
@@ -0,0 +1,90 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+@Entity
+@Table(name = "authors", indexes = {
+        @Index(name = "uk_authors_name_key", columnList = "name_key", unique = true)
+})
+@Schema(description = "Autor normalizado, com a contagem de livros do acervo")
+public class Author {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "ID único do autor", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Column(nullable = false)
+    @Schema(description = "Nome do autor (primeira grafia encontrada)", example = "George Orwell")
+    private String name;
+
+    // Chave de busca: sem acentos, minúsculas e espaços normalizados
+    @Column(name = "name_key", nullable = false)
+    @JsonIgnore
+    private String nameKey;
+
+    // Mantida a cada gravação de livro, para servir as facetas sem agregação
+    @Column(nullable = false)
+    @Schema(description = "Quantidade de livros do autor", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private int bookCount;
+
+    // Construtores
+    public Author() {
+    }
+
+    public Author(String name) {
+        this.name = name.trim();
+        this.nameKey = normalize(name);
+    }
+
+    /**
+     * Normaliza um nome de autor para comparação: remove acentos e pontuação,
+     * converte para minúsculas e colapsa espaços ("José  Saramago." -> "jose saramago").
+     */
+    public static String normalize(String name) {
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getNameKey() { return nameKey; }
+    public void setNameKey(String nameKey) { this.nameKey = nameKey; }
+
+    public int getBookCount() { return bookCount; }
+    public void setBookCount(int bookCount) { this.bookCount = bookCount; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Author)) return false;
+        Author author = (Author) o;
+        return Objects.equals(id, author.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Author{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", bookCount=" + bookCount +
+                '}';
+    }
+}
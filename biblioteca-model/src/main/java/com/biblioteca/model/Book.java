@@ -0,0 +1,110 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_book_updated_at", columnList = "updated_at"),
+        // Ordenações da busca combinada, desempatadas pelo ID (paginação por chave)
+        @Index(name = "idx_book_title_id", columnList = "title, id"),
+        @Index(name = "idx_book_author_id", columnList = "author, id"),
+        @Index(name = "idx_book_stock_id", columnList = "stock, id"),
+        @Index(name = "idx_book_authors_synced_id", columnList = "authors_synced, id")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Book {
+    @Id 
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+    private String author;
+    private int stock;
+
+    // Autores normalizados, derivados do campo author pelo AuthorService
+    @ManyToMany
+    @JoinTable(name = "book_authors",
+            joinColumns = @JoinColumn(name = "book_id"),
+            inverseJoinColumns = @JoinColumn(name = "author_id"))
+    @JsonIgnore
+    private Set<Author> authors = new HashSet<>();
+
+    // Marca os livros já vinculados aos autores; a migração só percorre os demais
+    @Column(name = "authors_synced", nullable = false)
+    @JsonIgnore
+    private boolean authorsSynced;
+
+    // Momento da última alteração; usado para alcançar as mudanças após um snapshot do catálogo
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    public String getAuthor() {
+        return author;
+    }
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+    public int getStock() {
+        return stock;
+    }
+    public void setStock(int stock) {
+        this.stock = stock;
+    }
+    public Set<Author> getAuthors() {
+        return authors;
+    }
+    public void setAuthors(Set<Author> authors) {
+        this.authors = authors;
+    }
+    public boolean isAuthorsSynced() {
+        return authorsSynced;
+    }
+    public void setAuthorsSynced(boolean authorsSynced) {
+        this.authorsSynced = authorsSynced;
+    }
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
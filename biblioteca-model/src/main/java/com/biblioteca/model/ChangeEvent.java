@@ -0,0 +1,135 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Evento da caixa de saída transacional ({@code change_events}), gravado na
+ * mesma transação da alteração de livro, usuário ou empréstimo. O ID é o
+ * cursor do feed {@code GET /changes}.
+ */
+@Entity
+@Table(name = "change_events", indexes = {
+        @Index(name = "idx_change_events_occurred_at", columnList = "occurred_at")
+})
+public class ChangeEvent {
+
+    public enum EntityType {
+        BOOK,
+        USER,
+        LOAN
+    }
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Estado da entidade após a alteração, em JSON; nulo em exclusões
+    @Column(length = 4000)
+    private String data;
+
+    // Construtores
+    public ChangeEvent() {
+    }
+
+    public ChangeEvent(EntityType entityType, Long entityId, Operation operation, LocalDateTime occurredAt, String data) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.occurredAt = occurredAt;
+        this.data = data;
+    }
+
+    // Getters e setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChangeEvent)) return false;
+        ChangeEvent that = (ChangeEvent) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "id=" + id +
+                ", entityType=" + entityType +
+                ", entityId=" + entityId +
+                ", operation=" + operation +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Reserva de um livro sem estoque. As reservas em espera de um livro formam
+ * uma fila por ordem de ID; quando um exemplar é devolvido, a primeira vira
+ * um empréstimo na mesma transação da devolução.
+ */
+@Entity
+@Table(name = "holds", indexes = {
+        @Index(name = "idx_holds_book_status", columnList = "book_id, status, id")
+}, uniqueConstraints = {
+        // waiting_key só é preenchida em espera: no máximo uma reserva em espera por usuário e livro
+        @UniqueConstraint(name = "uk_holds_waiting", columnNames = { "user_id", "book_id", "waiting_key" })
+})
+public class Hold {
+
+    public enum Status {
+        WAITING,
+        FULFILLED,
+        CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "waiting_key")
+    private Boolean waitingKey;
+
+    @Column(name = "placed_at", nullable = false)
+    private LocalDateTime placedAt;
+
+    // Empréstimo criado quando a reserva foi atendida
+    @Column(name = "loan_id")
+    private Long loanId;
+
+    // Construtores
+    public Hold() {
+    }
+
+    public Hold(User user, Book book, LocalDateTime placedAt) {
+        this.user = user;
+        this.book = book;
+        this.placedAt = placedAt;
+        setStatus(Status.WAITING);
+    }
+
+    // Getters e setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(Book book) {
+        this.book = book;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+        this.waitingKey = status == Status.WAITING ? Boolean.TRUE : null;
+    }
+
+    public boolean isWaiting() {
+        return status == Status.WAITING;
+    }
+
+    public LocalDateTime getPlacedAt() {
+        return placedAt;
+    }
+
+    public void setPlacedAt(LocalDateTime placedAt) {
+        this.placedAt = placedAt;
+    }
+
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(Long loanId) {
+        this.loanId = loanId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Hold)) return false;
+        Hold hold = (Hold) o;
+        return Objects.equals(id, hold.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Hold{" +
+                "id=" + id +
+                ", status=" + status +
+                ", placedAt=" + placedAt +
+                '}';
+    }
+}
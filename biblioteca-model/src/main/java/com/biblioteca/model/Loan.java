@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "loans")
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loans_user_return", columnList = "user_id, return_date"),
+        @Index(name = "idx_loans_return_date", columnList = "return_date")
+})
 public class Loan {
 
     @Id
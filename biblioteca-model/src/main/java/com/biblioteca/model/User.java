@@ -9,10 +9,14 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+})
 @Schema(description = "Entidade representando um usuário da biblioteca")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
     @Id
@@ -27,7 +31,6 @@ public class User {
 
     @NotBlank(message = "O email é obrigatório")
     @Email(message = "Email inválido")
-    @Column(unique = true)
     @Schema(description = "Email único do usuário", example = "joao@email.com", required = true)
     private String email;
 
@@ -0,0 +1,112 @@
+package com.biblioteca.cache;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.BookRepository;
+
+/**
+ * Cache em processo das leituras de livro por ID ({@code GET /books/{id}} e
+ * disponibilidade). É aquecido pelo {@link CatalogSnapshotJob} a partir do
+ * snapshot binário e mantido atualizado de três formas:
+ * <ul>
+ * <li>escritas desta instância removem a entrada (também após o commit);</li>
+ * <li>a cada {@code catch-up-interval-ms}, os livros com {@code updatedAt}
+ * posterior à marca d'água são relidos, cobrindo escritas de outras instâncias;</li>
+ * <li>a cada {@code reconcile-interval-ms}, entradas de livros que não existem
+ * mais no banco são descartadas.</li>
+ * </ul>
+ * Leituras para escrita (atualização, empréstimo) continuam indo ao banco.
+ */
+@Component
+public class BookCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BookCache.class);
+
+    private final Map<Long, CachedBook> books = new ConcurrentHashMap<>();
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    // Reler também um pouco antes da marca, para transações que gravaram antes e confirmaram depois
+    @Value("${biblioteca.book-cache.catch-up-overlap-ms:5000}")
+    private long overlapMs;
+
+    private volatile LocalDateTime watermark = LocalDateTime.now();
+
+    public Optional<Book> get(Long id) {
+        CachedBook cached = books.get(id);
+        return cached == null ? Optional.empty() : Optional.of(cached.toBook());
+    }
+
+    public void put(Book book) {
+        books.put(book.getId(), CachedBook.of(book));
+    }
+
+    // Carga do snapshot: os dados valem a partir do instante em que ele foi gerado
+    public void load(Collection<CachedBook> snapshot, LocalDateTime version) {
+        snapshot.forEach(book -> books.put(book.id(), book));
+        watermark = version;
+    }
+
+    /**
+     * Remove a entrada agora e, dentro de uma transação, de novo após o
+     * commit, para que uma leitura concorrente não deixe o valor antigo.
+     */
+    public void evict(Long id) {
+        books.remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    books.remove(id);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    // Relê os livros alterados desde a marca d'água (inclusive por outras instâncias)
+    @Scheduled(fixedDelayString = "${biblioteca.book-cache.catch-up-interval-ms:5000}",
+            initialDelayString = "${biblioteca.book-cache.catch-up-interval-ms:5000}")
+    public int catchUp() {
+        LocalDateTime started = LocalDateTime.now();
+        List<Book> changed = bookRepo.findByUpdatedAtAfter(watermark.minusNanos(overlapMs * 1_000_000));
+        changed.forEach(this::put);
+        watermark = started;
+        return changed.size();
+    }
+
+    // Descarta livros removidos do banco (remoções não deixam updatedAt)
+    @Scheduled(fixedDelayString = "${biblioteca.book-cache.reconcile-interval-ms:60000}",
+            initialDelayString = "${biblioteca.book-cache.reconcile-interval-ms:60000}")
+    public int reconcile() {
+        Set<Long> existing = new HashSet<>(bookRepo.findAllIds());
+        int before = books.size();
+        books.keySet().retainAll(existing);
+        int removed = before - books.size();
+        if (removed > 0) {
+            log.info("Cache de livros reconciliado: removidos={}", removed);
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,24 @@
+package com.biblioteca.cache;
+
+import com.biblioteca.model.Book;
+
+/**
+ * Cópia imutável dos campos de catálogo de um livro, guardada no
+ * {@link BookCache}. Cada leitura recebe um {@link Book} novo, então quem
+ * chama nunca altera o valor compartilhado.
+ */
+public record CachedBook(Long id, String title, String author, int stock) {
+
+    public static CachedBook of(Book book) {
+        return new CachedBook(book.getId(), book.getTitle(), book.getAuthor(), book.getStock());
+    }
+
+    public Book toBook() {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setStock(stock);
+        return book;
+    }
+}
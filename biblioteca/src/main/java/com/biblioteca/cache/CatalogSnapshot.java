@@ -0,0 +1,258 @@
+package com.biblioteca.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.biblioteca.model.Book;
+
+/**
+ * Formato binário do snapshot do catálogo de livros. Colunar, com as
+ * strings (títulos e autores) em um dicionário, para que autores repetidos
+ * ocupem espaço uma única vez e a carga seja uma leitura sequencial de
+ * arrays. Todos os inteiros são big-endian:
+ *
+ * <pre>
+ * int    MAGIC ("BKS1")
+ * int    FORMAT_VERSION
+ * long   versão (instante da geração, em ms UTC do relógio local)
+ * int    linhas (n)
+ * int    strings no dicionário (d)
+ * int[d+1] deslocamentos de cada string no bloco UTF-8
+ * byte[] bloco UTF-8 do dicionário
+ * long[n] id
+ * int[n]  título (índice no dicionário, -1 = nulo)
+ * int[n]  autor  (índice no dicionário, -1 = nulo)
+ * int[n]  estoque
+ * int    CRC32 de tudo o que vem antes
+ * </pre>
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x424B5331;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int NULL_REF = -1;
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * Acumula as linhas do catálogo e monta o arquivo. Não guarda
+     * entidades, apenas as colunas já codificadas.
+     */
+    public static final class Writer {
+
+        private final LocalDateTime version;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private long[] ids = new long[1024];
+        private int[] titles = new int[1024];
+        private int[] authors = new int[1024];
+        private int[] stocks = new int[1024];
+        private int rows;
+
+        public Writer(LocalDateTime version) {
+            this.version = version;
+        }
+
+        public void add(Book book) {
+            if (rows == ids.length) {
+                int capacity = rows * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                authors = Arrays.copyOf(authors, capacity);
+                stocks = Arrays.copyOf(stocks, capacity);
+            }
+            ids[rows] = book.getId();
+            titles[rows] = ref(book.getTitle());
+            authors[rows] = ref(book.getAuthor());
+            stocks[rows] = book.getStock();
+            rows++;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            int blobSize = strings.stream().mapToInt(bytes -> bytes.length).sum();
+            int size = 4 + 4 + 8 + 4 + 4
+                    + 4 * (strings.size() + 1) + blobSize
+                    + rows * (8 + 4 + 4 + 4)
+                    + 4;
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(toMillis(version))
+                    .putInt(rows).putInt(strings.size());
+            int offset = 0;
+            for (byte[] bytes : strings) {
+                buffer.putInt(offset);
+                offset += bytes.length;
+            }
+            buffer.putInt(offset);
+            strings.forEach(buffer::put);
+            for (int i = 0; i < rows; i++) {
+                buffer.putLong(ids[i]);
+            }
+            putColumn(buffer, titles);
+            putColumn(buffer, authors);
+            putColumn(buffer, stocks);
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, buffer.position());
+            buffer.putInt((int) crc.getValue());
+            out.write(buffer.array());
+        }
+
+        private void putColumn(ByteBuffer buffer, int[] column) {
+            for (int i = 0; i < rows; i++) {
+                buffer.putInt(column[i]);
+            }
+        }
+
+        private int ref(String value) {
+            if (value == null) {
+                return NULL_REF;
+            }
+            return dictionary.computeIfAbsent(value, key -> {
+                strings.add(key.getBytes(StandardCharsets.UTF_8));
+                return strings.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Resultado da leitura: as linhas do catálogo e a versão a partir da
+     * qual as mudanças precisam ser buscadas no banco.
+     */
+    public record Contents(LocalDateTime version, List<CachedBook> books) {
+    }
+
+    // Versão e número de linhas de um snapshot válido, sem decodificar as colunas
+    public record Header(LocalDateTime version, int rows) {
+    }
+
+    /**
+     * Lê o arquivo mapeando-o em memória. Cada string do dicionário é
+     * decodificada uma única vez e compartilhada entre as linhas.
+     *
+     * @throws IOException se o arquivo estiver truncado, corrompido ou em outra versão
+     */
+    public static Contents read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return decode(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Snapshot do catálogo inválido: " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Lê apenas o cabeçalho, depois de validar o arquivo inteiro pelo CRC.
+     *
+     * @throws IOException se o arquivo estiver truncado, corrompido ou em outra versão
+     */
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            validate(buffer);
+            return new Header(fromMillis(buffer.getLong(8)), buffer.getInt(16));
+        }
+    }
+
+    private static void validate(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < 28 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Arquivo não é um snapshot do catálogo");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Versão de snapshot do catálogo não suportada: " + buffer.getInt(4));
+        }
+        checkCrc(buffer);
+    }
+
+    private static Contents decode(ByteBuffer buffer) throws IOException {
+        validate(buffer);
+
+        buffer.position(8);
+        LocalDateTime version = fromMillis(buffer.getLong());
+        int rows = buffer.getInt();
+        int dictionarySize = buffer.getInt();
+
+        int[] offsets = new int[dictionarySize + 1];
+        for (int i = 0; i <= dictionarySize; i++) {
+            offsets[i] = buffer.getInt();
+        }
+        int blobStart = buffer.position();
+        String[] dictionary = new String[dictionarySize];
+        byte[] bytes = new byte[offsets[dictionarySize]];
+        buffer.get(bytes);
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        buffer.position(blobStart + bytes.length);
+
+        int idsAt = buffer.position();
+        int titlesAt = idsAt + rows * 8;
+        int authorsAt = titlesAt + rows * 4;
+        int stocksAt = authorsAt + rows * 4;
+        List<CachedBook> books = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            books.add(new CachedBook(
+                    buffer.getLong(idsAt + i * 8),
+                    lookup(dictionary, buffer.getInt(titlesAt + i * 4)),
+                    lookup(dictionary, buffer.getInt(authorsAt + i * 4)),
+                    buffer.getInt(stocksAt + i * 4)));
+        }
+        return new Contents(version, books);
+    }
+
+    private static void checkCrc(ByteBuffer buffer) throws IOException {
+        int end = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(end));
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException("Snapshot do catálogo corrompido (CRC inválido)");
+        }
+    }
+
+    // Grava em arquivo temporário e substitui, para nunca deixar um snapshot parcial
+    static void write(Writer writer, Path target) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            writer.writeTo(out);
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String lookup(String[] dictionary, int ref) {
+        return ref == NULL_REF ? null : dictionary[ref];
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,117 @@
+package com.biblioteca.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.BookRepository;
+
+/**
+ * Gera periodicamente o snapshot binário do catálogo ({@link CatalogSnapshot})
+ * e, na inicialização, aquece o {@link BookCache} a partir dele: o arquivo é
+ * mapeado em memória, carregado no cache e, em seguida, as mudanças
+ * posteriores à versão do snapshot são buscadas no banco. Fica desativado
+ * quando {@code biblioteca.catalog-snapshot.file} está vazio.
+ * <p>
+ * O arquivo é estado local da instância, como o próprio cache que ele
+ * aquece: um caminho relativo é resolvido contra o diretório de trabalho do
+ * processo, e cada instância grava e lê o seu. Nada depende de ele ser
+ * compartilhado; sem o arquivo, a instância apenas sobe com o cache frio.
+ * <p>
+ * O arquivo só é regravado quando o catálogo mudou desde a versão gravada:
+ * a contagem de livros e o maior {@code updatedAt} são comparados com o
+ * cabeçalho do arquivo antes de percorrer o catálogo.
+ */
+@Component
+public class CatalogSnapshotJob implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotJob.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private BookCache bookCache;
+
+    @Value("${biblioteca.catalog-snapshot.file:}")
+    private String snapshotFile;
+
+    // Mesma folga do catch-up: escritas confirmadas depois de gerado o snapshot, com updatedAt anterior
+    @Value("${biblioteca.book-cache.catch-up-overlap-ms:5000}")
+    private long overlapMs;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (snapshotFile.isBlank() || !Files.exists(Path.of(snapshotFile))) {
+            return;
+        }
+        long start = System.nanoTime();
+        CatalogSnapshot.Contents contents;
+        try {
+            contents = CatalogSnapshot.read(Path.of(snapshotFile));
+        } catch (IOException e) {
+            // Snapshot ruim não impede a subida: o cache apenas começa frio
+            log.warn("Snapshot do catálogo ignorado: {}", e.getMessage());
+            return;
+        }
+        bookCache.load(contents.books(), contents.version());
+        long loadedMs = (System.nanoTime() - start) / 1_000_000;
+        int changed = bookCache.catchUp();
+        int removed = bookCache.reconcile();
+        log.info("Cache de livros aquecido: arquivo={} versao={} livros={} cargaMs={} alterados={} removidos={}",
+                Path.of(snapshotFile).toAbsolutePath(), contents.version(), contents.books().size(), loadedMs, changed, removed);
+    }
+
+    // Lê o catálogo em páginas por ID, sem manter as entidades em memória
+    @Scheduled(fixedDelayString = "${biblioteca.catalog-snapshot.interval-ms:300000}",
+            initialDelayString = "${biblioteca.catalog-snapshot.interval-ms:300000}")
+    public void writeSnapshot() throws IOException {
+        if (snapshotFile.isBlank() || isCurrent(Path.of(snapshotFile))) {
+            return;
+        }
+        // A versão é o início da leitura: mudanças durante a geração são refeitas no catch-up
+        CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(LocalDateTime.now());
+        long lastId = 0;
+        while (true) {
+            List<Book> page = bookRepo.findPageAfter(lastId, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(writer::add);
+            lastId = page.get(page.size() - 1).getId();
+        }
+        CatalogSnapshot.write(writer, Path.of(snapshotFile));
+        log.debug("Snapshot do catálogo gravado: arquivo={} livros={}", snapshotFile, writer.rows());
+    }
+
+    // O arquivo existente ainda representa o catálogo: mesma contagem e nenhuma alteração após sua versão
+    boolean isCurrent(Path file) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        CatalogSnapshot.Header header;
+        try {
+            header = CatalogSnapshot.readHeader(file);
+        } catch (IOException e) {
+            return false;
+        }
+        LocalDateTime changedBefore = header.version().minusNanos(overlapMs * 1_000_000);
+        return bookRepo.count() == header.rows()
+                && bookRepo.findLastUpdatedAt().map(last -> last.isBefore(changedBefore)).orElse(true);
+    }
+}
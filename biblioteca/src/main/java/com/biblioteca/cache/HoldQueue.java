@@ -0,0 +1,177 @@
+package com.biblioteca.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.repository.HoldEntry;
+import com.biblioteca.repository.HoldRepository;
+
+/**
+ * Cópia em memória das filas de reserva (reservas em espera por livro, em
+ * ordem de ID). Responde às consultas de posição e à verificação rápida de
+ * {@code POST /loans/create} sem ir ao banco. É carregada na inicialização,
+ * atualizada após o commit das escritas desta instância e recarregada a cada
+ * {@code reload-interval-ms}, cobrindo escritas de outras instâncias. A
+ * alocação na devolução sempre lê a fila do banco.
+ * <p>
+ * As alterações feitas enquanto a recarga lê o banco são guardadas e
+ * reaplicadas sobre as filas novas antes da troca: a leitura pode ter
+ * começado antes do commit delas, e sem isso uma reserva recém-criada
+ * sumiria (ou uma atendida voltaria) até a recarga seguinte.
+ */
+@Component
+public class HoldQueue implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldQueue.class);
+
+    private volatile Map<Long, BookQueue> queues = new ConcurrentHashMap<>();
+
+    // Protege a troca das filas e a lista de alterações durante a recarga
+    private final Object lock = new Object();
+
+    // Não nulo enquanto uma recarga lê o banco
+    private List<Consumer<Map<Long, BookQueue>>> changedDuringReload;
+
+    @Autowired
+    private HoldRepository holdRepo;
+
+    public record Position(Long holdId, int position, int length) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int holds = reload();
+        log.info("Filas de reserva carregadas: reservas={} livros={}", holds, queues.size());
+    }
+
+    // Posição do usuário na fila do livro (1 = próximo a receber)
+    public Optional<Position> position(Long bookId, Long userId) {
+        BookQueue queue = queues.get(bookId);
+        return queue == null ? Optional.empty() : queue.position(userId);
+    }
+
+    public int length(Long bookId) {
+        BookQueue queue = queues.get(bookId);
+        return queue == null ? 0 : queue.length();
+    }
+
+    public void added(Long holdId, Long bookId, Long userId) {
+        afterCommit(() -> apply(queues -> queues.computeIfAbsent(bookId, id -> new BookQueue()).add(holdId, userId)));
+    }
+
+    public void removed(Long bookId, Long userId) {
+        afterCommit(() -> apply(queues -> {
+            BookQueue queue = queues.get(bookId);
+            if (queue != null) {
+                queue.remove(userId);
+            }
+        }));
+    }
+
+    public void bookRemoved(Long bookId) {
+        afterCommit(() -> apply(queues -> queues.remove(bookId)));
+    }
+
+    public void userRemoved(Long userId) {
+        afterCommit(() -> apply(queues -> queues.values().forEach(queue -> queue.remove(userId))));
+    }
+
+    // Reconstrói as filas a partir do banco e troca de uma vez
+    @Scheduled(fixedDelayString = "${biblioteca.holds.reload-interval-ms:60000}",
+            initialDelayString = "${biblioteca.holds.reload-interval-ms:60000}")
+    public synchronized int reload() {
+        synchronized (lock) {
+            changedDuringReload = new ArrayList<>();
+        }
+        List<HoldEntry> waiting;
+        try {
+            waiting = holdRepo.findAllWaiting();
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changedDuringReload = null;
+            }
+            throw e;
+        }
+        Map<Long, BookQueue> loaded = new ConcurrentHashMap<>();
+        for (HoldEntry entry : waiting) {
+            loaded.computeIfAbsent(entry.bookId(), id -> new BookQueue()).add(entry.holdId(), entry.userId());
+        }
+        synchronized (lock) {
+            // Alterações são idempotentes: reaplicar uma que a leitura já viu não muda nada
+            changedDuringReload.forEach(change -> change.accept(loaded));
+            changedDuringReload = null;
+            queues = loaded;
+        }
+        return waiting.size();
+    }
+
+    // Aplica a alteração às filas atuais e a guarda se houver uma recarga em andamento
+    private void apply(Consumer<Map<Long, BookQueue>> change) {
+        synchronized (lock) {
+            change.accept(queues);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(change);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Fila de um livro: reservas por ID (ordem de chegada) e índice por usuário
+    private static class BookQueue {
+
+        private final TreeMap<Long, Long> usersByHold = new TreeMap<>();
+        private final Map<Long, Long> holdsByUser = new HashMap<>();
+
+        synchronized void add(Long holdId, Long userId) {
+            usersByHold.put(holdId, userId);
+            holdsByUser.put(userId, holdId);
+        }
+
+        synchronized void remove(Long userId) {
+            Long holdId = holdsByUser.remove(userId);
+            if (holdId != null) {
+                usersByHold.remove(holdId);
+            }
+        }
+
+        synchronized Optional<Position> position(Long userId) {
+            Long holdId = holdsByUser.get(userId);
+            if (holdId == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new Position(holdId, usersByHold.headMap(holdId).size() + 1, usersByHold.size()));
+        }
+
+        synchronized int length() {
+            return usersByHold.size();
+        }
+    }
+}
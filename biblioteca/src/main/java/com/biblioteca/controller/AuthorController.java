@@ -0,0 +1,89 @@
+package com.biblioteca.controller;
+
+import java.util.List;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.service.AuthorService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.EntityNotFoundException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/authors")
+@Tag(name = "Autores", description = "Navegação do acervo por autor")
+public class AuthorController {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Operation(
+        summary = "Listar autores",
+        description = "Retorna os autores com livros no acervo, em ordem alfabética, com a quantidade de livros de cada um. Pode ser filtrado pelo início do nome"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de autores retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Limite inválido")
+    })
+    @GetMapping
+    public ResponseEntity<?> browseAuthors(
+            @Parameter(description = "Início do nome do autor (sem diferenciar acentos e maiúsculas)", example = "orw")
+            @RequestParam(required = false) String prefix,
+            @Parameter(description = "Quantidade máxima de autores (1 a 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > 500) {
+            return ResponseEntity.badRequest().body("O limite deve estar entre 1 e 500");
+        }
+        return ResponseEntity.ok(authorService.browse(prefix, limit));
+    }
+
+    @Operation(
+        summary = "Buscar autor por ID",
+        description = "Retorna um autor e a quantidade de livros dele no acervo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Autor encontrado com sucesso",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = Author.class))),
+        @ApiResponse(responseCode = "404", description = "Autor não encontrado")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<Author> getAuthorById(
+            @Parameter(description = "ID do autor", required = true, example = "1")
+            @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(authorService.getAuthorById(id));
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Livros de um autor",
+        description = "Retorna os livros vinculados ao autor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de livros retornada com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Autor não encontrado")
+    })
+    @GetMapping("/{id}/books")
+    public ResponseEntity<List<Book>> getBooksByAuthor(
+            @Parameter(description = "ID do autor", required = true, example = "1")
+            @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(authorService.getBooksByAuthor(id));
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
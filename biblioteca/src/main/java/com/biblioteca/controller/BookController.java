@@ -0,0 +1,323 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.BookSearch;
+import com.biblioteca.dto.BookSearchResult;
+import com.biblioteca.dto.HoldPosition;
+import com.biblioteca.model.Book;
+import com.biblioteca.service.BookService;
+import com.biblioteca.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/books")
+@Tag(name = "Livros", description = "Operações relacionadas ao gerenciamento de livros")
+public class BookController {
+    
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Operation(
+        summary = "Criar novo livro",
+        description = "Adiciona um novo livro ao acervo da biblioteca"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Livro criado com sucesso",
+                content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = Book.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos")
+    })
+    @PostMapping
+    public ResponseEntity<Book> createBook(
+            @Parameter(description = "Dados do livro a ser criado", required = true)
+            @Valid @RequestBody Book book) {
+        Book created = bookService.createBook(book);
+        return ResponseEntity.status(201).body(created);
+    }
+
+    @Operation(
+        summary = "Listar todos os livros",
+        description = "Retorna uma lista com todos os livros do acervo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de livros retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields")
+    })
+    @GetMapping
+    public ResponseEntity<?> getAllBooks(
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, title, author, stock)", example = "id,title")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(bookService.getAllBooks());
+        }
+        try {
+            return ResponseEntity.ok(bookService.getAllBooks(fields));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Buscar livro por ID",
+        description = "Retorna um livro específico baseado no ID fornecido"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Livro encontrado com sucesso",
+                content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = Book.class))),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields"),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getBookById(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, title, author, stock)", example = "id,title")
+            @RequestParam(required = false) String fields) {
+        try {
+            if (fields == null) {
+                return ResponseEntity.ok(bookService.getBookById(id));
+            }
+            return ResponseEntity.ok(bookService.getBookById(id, fields));
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Atualizar livro",
+        description = "Atualiza os dados de um livro existente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Livro atualizado com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<Book> updateBook(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id, 
+            @Parameter(description = "Novos dados do livro", required = true)
+            @Valid @RequestBody Book book) {
+        try {
+            return ResponseEntity.ok(bookService.updateBook(id, book));
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Deletar livro",
+        description = "Remove um livro do acervo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Livro removido com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBook(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id) {
+        try {
+            bookService.deleteBook(id);
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Busca combinada de livros",
+        description = "Filtra por qualquer combinação de título, autor e estoque, com ordenação e "
+                + "paginação por cursor (use nextCursor no parâmetro after enquanto hasMore for verdadeiro)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de livros encontrados",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BookSearchResult.class))),
+        @ApiResponse(responseCode = "400", description = "Ordenação, limite ou cursor inválido")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @Parameter(description = "Título ou parte do título do livro", example = "1984")
+            @RequestParam(required = false) String title,
+            @Parameter(description = "Nome ou parte do nome do autor", example = "Orwell")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "true para apenas livros com estoque, false para apenas esgotados")
+            @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Estoque mínimo", example = "2")
+            @RequestParam(required = false) Integer minStock,
+            @Parameter(description = "Ordenação: id, title, author ou stock, com ,asc ou ,desc opcional", example = "title,asc")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Cursor da página anterior (nextCursor)")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamanho da página (1 a " + BookSearch.MAX_LIMIT + ")", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(bookService.search(
+                    BookSearch.of(title, author, inStock, minStock, sort, after, limit)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Buscar livros por título",
+        description = "Retorna livros que contenham o título especificado (busca parcial)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de livros encontrados"),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields")
+    })
+    @GetMapping("/search/title")
+    public ResponseEntity<?> searchByTitle(
+            @Parameter(description = "Título ou parte do título do livro", required = true, example = "1984")
+            @RequestParam String title,
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, title, author, stock)", example = "id,title")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(bookService.searchByTitle(title));
+        }
+        try {
+            return ResponseEntity.ok(bookService.searchByTitle(title, fields));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Buscar livros por autor",
+        description = "Retorna livros que contenham o autor especificado (busca parcial)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de livros encontrados"),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields")
+    })
+    @GetMapping("/search/author")
+    public ResponseEntity<?> searchByAuthor(
+            @Parameter(description = "Nome ou parte do nome do autor", required = true, example = "Orwell")
+            @RequestParam String author,
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, title, author, stock)", example = "id,title")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(bookService.searchByAuthor(author));
+        }
+        try {
+            return ResponseEntity.ok(bookService.searchByAuthor(author, fields));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Verificar disponibilidade de um livro",
+        description = "Verifica se um livro está disponível para empréstimo (estoque > 0)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status de disponibilidade retornado"),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @GetMapping("/{id}/available")
+    public ResponseEntity<String> isBookAvailable(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id) {
+        try {
+            boolean available = bookService.isBookAvailable(id);
+            return ResponseEntity.ok(available ? "Disponível" : "Indisponível");
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Livros relacionados",
+        description = "Retorna os livros que os usuários deste livro também pegaram emprestado, do mais frequente ao menos frequente. "
+                + "Responde de um modelo em memória atualizado a cada empréstimo; logo após a inicialização pode vir vazio"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de livros relacionados retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Limite inválido"),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> getRelatedBooks(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Quantidade máxima de livros (1 a 50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(bookService.getRelatedBooks(id, limit));
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Entrar na fila de reservas",
+        description = "Coloca o usuário na fila de um livro sem estoque. Quando um exemplar é devolvido, o primeiro da fila "
+                + "recebe o empréstimo automaticamente. Repetir o pedido devolve a mesma reserva e a posição atual"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Reserva criada",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = HoldPosition.class))),
+        @ApiResponse(responseCode = "200", description = "Usuário já estava na fila; posição atual retornada"),
+        @ApiResponse(responseCode = "404", description = "Livro ou usuário não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Livro disponível ou já emprestado a este usuário")
+    })
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<?> placeHold(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @RequestParam Long userId) {
+        try {
+            HoldService.Placement placement = holdService.placeHold(id, userId);
+            return ResponseEntity.status(placement.created() ? HttpStatus.CREATED : HttpStatus.OK).body(placement.hold());
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Posição na fila de reservas",
+        description = "Retorna a posição do usuário na fila do livro, consultada em memória"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Posição retornada",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = HoldPosition.class))),
+        @ApiResponse(responseCode = "404", description = "Usuário não está na fila (ou já recebeu o livro)")
+    })
+    @GetMapping("/{id}/holds/position")
+    public ResponseEntity<?> getHoldPosition(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @RequestParam Long userId) {
+        try {
+            return ResponseEntity.ok(holdService.getPosition(id, userId));
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        }
+    }
+}
\ No newline at end of file
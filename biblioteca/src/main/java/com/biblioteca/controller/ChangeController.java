@@ -0,0 +1,55 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.ChangeFeedPage;
+import com.biblioteca.service.ChangeFeedService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/changes")
+@Tag(name = "Alterações", description = "Feed incremental de alterações de livros, usuários e empréstimos")
+public class ChangeController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Operation(
+        summary = "Listar alterações desde um cursor",
+        description = "Retorna as criações, atualizações e exclusões ocorridas após o cursor, em ordem. "
+                + "Cada entidade aparece no máximo uma vez por página, com o estado mais recente. "
+                + "Comece com since=0 e repita a chamada com o nextCursor retornado; "
+                + "cada alteração aparece só depois do teto de duração das transações (cerca de 30 s), quando já está confirmada"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de alterações retornada com sucesso",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ChangeFeedPage.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+        @ApiResponse(responseCode = "410", description = "Cursor anterior ao período retido; refaça a carga completa e recomece com since=0")
+    })
+    @GetMapping
+    public ResponseEntity<?> getChanges(
+            @Parameter(description = "Cursor da última alteração já processada (0 para começar do início)", example = "0")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Quantidade máxima de eventos lidos (1 a 1000)", example = "100")
+            @RequestParam(defaultValue = "" + ChangeFeedService.DEFAULT_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        }
+    }
+}
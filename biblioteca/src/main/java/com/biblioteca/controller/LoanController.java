@@ -2,6 +2,10 @@ package com.biblioteca.controller;
 
 import java.util.List;
 
+import com.biblioteca.deadline.RequestDeadline;
+import com.biblioteca.dto.BatchReturnRequest;
+import com.biblioteca.dto.BatchReturnResult;
+import com.biblioteca.dto.LoanHistoryItem;
 import com.biblioteca.model.Loan;
 import com.biblioteca.service.LoanService;
 import com.biblioteca.repository.LoanRepository;
@@ -13,6 +17,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -38,11 +44,19 @@ public class LoanController {
         @ApiResponse(responseCode = "200", description = "Lista de empréstimos retornada com sucesso",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = Loan.class))),
-        @ApiResponse(responseCode = "204", description = "Nenhum empréstimo encontrado")
+        @ApiResponse(responseCode = "204", description = "Nenhum empréstimo encontrado"),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields")
     })
     @GetMapping
-    public ResponseEntity<List<Loan>> getAllLoans() {
-        List<Loan> loans = repo.findAll();
+    public ResponseEntity<?> getAllLoans(
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, userId, bookId, loanDate, returnDate)", example = "id,bookId,returnDate")
+            @RequestParam(required = false) String fields) {
+        List<?> loans;
+        try {
+            loans = fields == null ? repo.findAll() : service.getAllLoans(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
         if (loans.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
@@ -57,7 +71,9 @@ public class LoanController {
         @ApiResponse(responseCode = "201", description = "Empréstimo criado com sucesso",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = Loan.class))),
-        @ApiResponse(responseCode = "400", description = "Dados inválidos ou livro indisponível"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "404", description = "Usuário ou livro não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Livro fora de estoque, com fila de reservas ou já emprestado ao usuário"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @PostMapping("/create")
@@ -71,7 +87,16 @@ public class LoanController {
             return ResponseEntity.status(HttpStatus.CREATED).body(newLoan);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            // Sem estoque: o cliente deve entrar na fila em vez de repetir o pedido
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
+            // Prazo esgotado vira 503 no DeadlineExceptionHandler
+            if (RequestDeadline.isTimeout(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao criar empréstimo.");
         }
     }
@@ -97,10 +122,36 @@ public class LoanController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (Exception e) {
+            // Prazo esgotado vira 503 no DeadlineExceptionHandler
+            if (RequestDeadline.isTimeout(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao devolver livro.");
         }
     }
 
+    @Operation(
+        summary = "Devolver empréstimos em lote",
+        description = "Registra a devolução de vários empréstimos de uma só vez, agrupando a atualização de estoque por livro. Retorna o resultado de cada empréstimo (RETURNED, ALREADY_RETURNED ou NOT_FOUND)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BatchReturnResult.class))),
+        @ApiResponse(responseCode = "400", description = "Lista vazia ou com mais de 500 empréstimos"),
+        @ApiResponse(responseCode = "409", description = "Lote não aplicado; nenhuma devolução foi registrada")
+    })
+    @PostMapping("/return-batch")
+    public ResponseEntity<?> returnLoans(
+            @Parameter(description = "IDs dos empréstimos a devolver", required = true)
+            @Valid @RequestBody BatchReturnRequest request) {
+        try {
+            return ResponseEntity.ok(service.returnLoans(request.loanIds()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
     @Operation(
         summary = "Buscar empréstimo por ID",
         description = "Retorna os detalhes de um empréstimo específico"
@@ -109,12 +160,24 @@ public class LoanController {
         @ApiResponse(responseCode = "200", description = "Empréstimo encontrado com sucesso",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = Loan.class))),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields"),
         @ApiResponse(responseCode = "404", description = "Empréstimo não encontrado")
     })
     @GetMapping("/{id}")
     public ResponseEntity<?> getLoanById(
             @Parameter(description = "ID do empréstimo", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, userId, bookId, loanDate, returnDate)", example = "id,bookId,returnDate")
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(service.getLoanById(id, fields));
+            } catch (EntityNotFoundException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
         return repo.findById(id)
                 .<ResponseEntity<?>>map(loan -> ResponseEntity.ok(loan))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -133,10 +196,31 @@ public class LoanController {
     public ResponseEntity<String> deleteLoan(
             @Parameter(description = "ID do empréstimo", required = true, example = "1")
             @PathVariable Long id) {
-        if (!repo.existsById(id)) {
+        try {
+            service.deleteLoan(id);
+        } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Empréstimo não encontrado.");
         }
-        repo.deleteById(id);
         return ResponseEntity.ok("Empréstimo eliminado com sucesso.");
     }
+
+    @Operation(
+        summary = "Histórico de empréstimos do usuário",
+        description = "Retorna todos os empréstimos do usuário, incluindo os já arquivados, do mais recente ao mais antigo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Histórico retornado com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<?> getLoanHistory(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId) {
+        try {
+            List<LoanHistoryItem> history = service.getLoanHistory(userId);
+            return ResponseEntity.ok(history);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
 }
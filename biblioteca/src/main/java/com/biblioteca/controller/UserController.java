@@ -1,6 +1,6 @@
 package com.biblioteca.controller;
 
-import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -36,11 +36,39 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = User.class))),
-        @ApiResponse(responseCode = "204", description = "Nenhum usuário encontrado")
+        @ApiResponse(responseCode = "204", description = "Nenhum usuário encontrado"),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields")
     })
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, name, email)", example = "id,name")
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+        try {
+            return ResponseEntity.ok(userService.getAllUsers(fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Verificar disponibilidade de email",
+        description = "Indica se o email ainda pode ser usado em um cadastro. Resposta indicativa para o formulário; a unicidade é garantida no cadastro"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Disponibilidade retornada"),
+        @ApiResponse(responseCode = "400", description = "Email não informado")
+    })
+    @GetMapping("/email-available")
+    public ResponseEntity<?> isEmailAvailable(
+            @Parameter(description = "Email a verificar", required = true, example = "joao@email.com")
+            @RequestParam String email) {
+        if (email.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("O email é obrigatório");
+        }
+        return ResponseEntity.ok(Map.of("email", email, "available", userService.isEmailAvailable(email)));
     }
 
     @Operation(
@@ -51,17 +79,25 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "Usuário encontrado com sucesso",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = User.class))),
+        @ApiResponse(responseCode = "400", description = "Campo inválido em fields"),
         @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(
+    public ResponseEntity<?> getUserById(
             @Parameter(description = "ID do usuário", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Campos a retornar, separados por vírgula (id, name, email)", example = "id,name")
+            @RequestParam(required = false) String fields) {
         try {
-            User user = userService.getUserById(id);
-            return ResponseEntity.ok(user);
+            if (fields == null) {
+                User user = userService.getUserById(id);
+                return ResponseEntity.ok(user);
+            }
+            return ResponseEntity.ok(userService.getUserById(id, fields));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
@@ -96,7 +132,8 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "Usuário atualizado com sucesso",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = User.class))),
-        @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Email já existe no sistema")
     })
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUser(
@@ -109,6 +146,8 @@ public class UserController {
             return ResponseEntity.ok(updatedUser);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não encontrado");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
     }
 
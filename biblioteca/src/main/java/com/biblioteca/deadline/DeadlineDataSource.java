@@ -0,0 +1,183 @@
+package com.biblioteca.deadline;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+
+/**
+ * Aplica o prazo da requisição ({@link RequestDeadline}) ao JDBC:
+ * <ul>
+ * <li>com o prazo esgotado, falha antes de pedir uma conexão ao pool;</li>
+ * <li>a espera por conexão no HikariCP fica limitada ao tempo restante,
+ * em vez do {@code connection-timeout} de 30 s;</li>
+ * <li>cada instrução recebe {@code setQueryTimeout} com os segundos
+ * restantes, e timeouts maiores pedidos pelo Hibernate são reduzidos.</li>
+ * </ul>
+ * Fora de uma requisição (tarefas agendadas, inicialização) nada muda.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    public DeadlineDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return super.getConnection();
+        }
+        checkRemaining(deadline);
+        return wrap(borrow(deadline), deadline);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return super.getConnection(username, password);
+        }
+        checkRemaining(deadline);
+        return wrap(super.getConnection(username, password), deadline);
+    }
+
+    private Connection borrow(RequestDeadline deadline) throws SQLException {
+        HikariPool pool = hikariPool();
+        if (pool == null) {
+            return super.getConnection();
+        }
+        try {
+            return pool.getConnection(Math.max(1, deadline.remainingMillis()));
+        } catch (SQLTransientConnectionException e) {
+            // O pool esgotou o tempo de espera: se foi o prazo da requisição que acabou, é um timeout
+            if (deadline.isExpired()) {
+                SQLTimeoutException timeout = timeout(deadline);
+                timeout.initCause(e);
+                throw timeout;
+            }
+            throw e;
+        }
+    }
+
+    private HikariPool hikariPool() {
+        if (getTargetDataSource() instanceof HikariDataSource hikari
+                && hikari.getHikariPoolMXBean() instanceof HikariPool pool) {
+            return pool;
+        }
+        return null;
+    }
+
+    private static void checkRemaining(RequestDeadline deadline) throws SQLTimeoutException {
+        if (deadline.isExpired()) {
+            throw timeout(deadline);
+        }
+    }
+
+    private static SQLTimeoutException timeout(RequestDeadline deadline) {
+        return new SQLTimeoutException("Prazo da requisição esgotado (" + deadline.getBudget().toMillis() + " ms)");
+    }
+
+    private static Connection wrap(Connection connection, RequestDeadline deadline) {
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection, deadline));
+    }
+
+    // Intercepta a criação de instruções para aplicar o timeout restante
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final RequestDeadline deadline;
+
+        ConnectionHandler(Connection target, RequestDeadline deadline) {
+            this.target = target;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    checkRemaining(deadline);
+                    Statement statement = (Statement) invokeTarget(target, method, args);
+                    statement.setQueryTimeout(deadline.remainingSeconds());
+                    return wrapStatement(statement, method.getReturnType());
+                default:
+                    break;
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private Object wrapStatement(Statement statement, Class<?> type) {
+            Class<?> iface = type == CallableStatement.class ? CallableStatement.class
+                    : type == PreparedStatement.class ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(), new Class<?>[] { iface },
+                    new StatementHandler(statement, deadline));
+        }
+    }
+
+    // Mantém o timeout da instrução dentro do prazo, mesmo que o Hibernate peça mais
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final RequestDeadline deadline;
+
+        StatementHandler(Statement target, RequestDeadline deadline) {
+            this.target = target;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "setQueryTimeout":
+                    int requested = (Integer) args[0];
+                    int remaining = deadline.remainingSeconds();
+                    target.setQueryTimeout(requested <= 0 ? remaining : Math.min(requested, remaining));
+                    return null;
+                default:
+                    if (method.getName().startsWith("execute")) {
+                        checkRemaining(deadline);
+                    }
+                    return invokeTarget(target, method, args);
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
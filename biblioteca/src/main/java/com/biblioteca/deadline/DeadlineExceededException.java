@@ -0,0 +1,13 @@
+package com.biblioteca.deadline;
+
+import java.time.Duration;
+
+/**
+ * O prazo da requisição terminou antes de um acesso ao banco.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(Duration budget) {
+        super("Prazo da requisição esgotado (" + budget.toMillis() + " ms)");
+    }
+}
@@ -0,0 +1,38 @@
+package com.biblioteca.deadline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import jakarta.persistence.PersistenceException;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Responde 503 quando a requisição estoura o prazo ou o banco não responde
+ * a tempo, para que o cliente possa tentar de novo (ou em outra instância).
+ * Demais erros de banco seguem o tratamento padrão.
+ */
+@RestControllerAdvice
+public class DeadlineExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineExceptionHandler.class);
+
+    @ExceptionHandler({ DeadlineExceededException.class, DataAccessException.class,
+            TransactionException.class, PersistenceException.class })
+    public ResponseEntity<String> handle(RuntimeException ex, HttpServletRequest request) throws RuntimeException {
+        if (!RequestDeadline.isTimeout(ex)) {
+            throw ex;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        log.warn("Prazo esgotado: endpoint=\"{} {}\" prazoMs={} erro={}", request.getMethod(), request.getRequestURI(),
+                deadline == null ? null : deadline.getBudget().toMillis(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body("Serviço temporariamente indisponível: tempo limite da requisição esgotado.");
+    }
+}
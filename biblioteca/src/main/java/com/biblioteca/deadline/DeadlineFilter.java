@@ -0,0 +1,84 @@
+package com.biblioteca.deadline;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Define o prazo de cada requisição: o configurado para o endpoint ou o
+ * pedido pelo cliente no cabeçalho {@code X-Request-Timeout} (milissegundos,
+ * limitado a {@code max-timeout}). Roda antes dos demais filtros, para que
+ * o prazo conte desde a chegada da requisição.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    @Autowired
+    private DeadlineProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration budget;
+        try {
+            budget = budgetFor(request);
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, TIMEOUT_HEADER + " deve ser um número de milissegundos");
+            return;
+        }
+        RequestDeadline.begin(budget);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+
+    private Duration budgetFor(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null && !header.isBlank()) {
+            long millis = Long.parseLong(header.trim());
+            if (millis < 0) {
+                throw new NumberFormatException(header);
+            }
+            Duration requested = Duration.ofMillis(millis);
+            return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+        }
+        return endpointBudget(request.getMethod(), request.getRequestURI());
+    }
+
+    // Orçamento do padrão mais específico que casa com o método e o caminho
+    private Duration endpointBudget(String method, String path) {
+        Comparator<String> specificity = matcher.getPatternComparator(path);
+        return properties.getEndpoints().stream()
+                .filter(endpoint -> endpoint.getMethod() == null || endpoint.getMethod().equalsIgnoreCase(method))
+                .filter(endpoint -> matcher.match(endpoint.getPattern(), path))
+                .min(Comparator.comparing(DeadlineProperties.Endpoint::getPattern, specificity))
+                .map(DeadlineProperties.Endpoint::getTimeout)
+                .orElse(properties.getDefaultTimeout());
+    }
+}
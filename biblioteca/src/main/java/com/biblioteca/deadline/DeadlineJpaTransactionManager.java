@@ -0,0 +1,25 @@
+package com.biblioteca.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Limita o timeout de cada transação ao tempo restante da requisição e
+ * recusa iniciar uma transação (e ocupar uma conexão) com o prazo esgotado.
+ * O timeout é repassado pelo Spring às consultas JPA e pelo Hibernate às
+ * instruções JDBC.
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return configured;
+        }
+        RequestDeadline.check();
+        int remaining = deadline.remainingSeconds();
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT ? remaining : Math.min(configured, remaining);
+    }
+}
@@ -0,0 +1,96 @@
+package com.biblioteca.deadline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Orçamentos de tempo por endpoint ({@code biblioteca.deadline.*}), ex.:
+ *
+ * <pre>
+ * biblioteca.deadline.endpoints[0].method=GET
+ * biblioteca.deadline.endpoints[0].pattern=/books/**
+ * biblioteca.deadline.endpoints[0].timeout=2s
+ * </pre>
+ *
+ * Sem {@code method}, vale para qualquer método. Quando mais de um padrão
+ * casa com a requisição, vence o mais específico.
+ */
+@ConfigurationProperties(prefix = "biblioteca.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    // Prazo de endpoints sem configuração própria
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    // Limite para o cabeçalho X-Request-Timeout enviado pelo cliente
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Endpoint {
+
+        private String method;
+        private String pattern;
+        private Duration timeout;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
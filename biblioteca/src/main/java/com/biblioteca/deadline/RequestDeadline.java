@@ -0,0 +1,87 @@
+package com.biblioteca.deadline;
+
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Prazo da requisição HTTP atual. É definido pelo {@link DeadlineFilter} e
+ * consultado antes de cada acesso ao banco: pela {@link DeadlineDataSource}
+ * (espera por conexão e timeout das instruções JDBC) e pelo
+ * {@link DeadlineJpaTransactionManager} (timeout das transações).
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration budget;
+
+    private RequestDeadline(Duration budget) {
+        this.budget = budget;
+        this.deadlineNanos = System.nanoTime() + budget.toNanos();
+    }
+
+    // Inicia o prazo para a requisição atual
+    public static RequestDeadline begin(Duration budget) {
+        RequestDeadline deadline = new RequestDeadline(budget);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    // Retorna o prazo da requisição atual, ou null fora de uma requisição
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    // Segundos restantes, arredondados para cima (granularidade do JDBC e das transações)
+    public int remainingSeconds() {
+        return (int) Math.max(1, (remainingMillis() + 999) / 1000);
+    }
+
+    // Falha antes de ocupar uma conexão se o prazo já passou
+    public static void check() {
+        RequestDeadline deadline = current();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException(deadline.budget);
+        }
+    }
+
+    /**
+     * Indica se a exceção (ou alguma de suas causas) resulta do prazo da
+     * requisição ou de um timeout do banco, que devem virar 503.
+     */
+    public static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof DeadlineExceededException
+                    || t instanceof SQLTimeoutException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof TransactionTimedOutException
+                    || t instanceof jakarta.persistence.QueryTimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
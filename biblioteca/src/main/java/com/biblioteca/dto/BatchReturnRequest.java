@@ -0,0 +1,16 @@
+package com.biblioteca.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Lista de empréstimos a devolver em lote")
+public record BatchReturnRequest(
+        @NotEmpty(message = "Informe ao menos um empréstimo")
+        @Size(max = 500, message = "No máximo 500 empréstimos por lote")
+        @Schema(description = "IDs dos empréstimos", example = "[1, 2, 3]")
+        List<@NotNull Long> loanIds) {
+}
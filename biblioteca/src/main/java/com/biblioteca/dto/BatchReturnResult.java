@@ -0,0 +1,20 @@
+package com.biblioteca.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de uma devolução em lote")
+public record BatchReturnResult(
+        @Schema(description = "Quantidade de empréstimos devolvidos nesta operação") int returned,
+        @Schema(description = "Resultado por empréstimo, na ordem recebida") List<Item> results) {
+
+    public enum Status {
+        RETURNED,
+        ALREADY_RETURNED,
+        NOT_FOUND
+    }
+
+    public record Item(Long loanId, Status status) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.biblioteca.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.function.Function;
+
+import com.biblioteca.model.Book;
+
+/**
+ * Critérios de {@code GET /books/search}. Filtros nulos são ignorados. A
+ * paginação é por chave ({@code after}): a ordenação é sempre desempatada
+ * pelo ID, e o cursor guarda o valor da coluna ordenada e o ID da última
+ * linha da página anterior.
+ */
+public record BookSearch(
+        String title,
+        String author,
+        Boolean inStock,
+        Integer minStock,
+        SortField sort,
+        boolean descending,
+        Cursor after,
+        int limit) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public enum SortField {
+        ID("id", book -> null),
+        TITLE("title", Book::getTitle),
+        AUTHOR("author", Book::getAuthor),
+        STOCK("stock", Book::getStock);
+
+        private final String property;
+        private final Function<Book, Object> getter;
+
+        SortField(String property, Function<Book, Object> getter) {
+            this.property = property;
+            this.getter = getter;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        // Valor da coluna ordenada (nulo para ID, que já é o desempate)
+        public Object value(Book book) {
+            return getter.apply(book);
+        }
+
+        static SortField parse(String name) {
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Ordenação inválida: " + name + " (use id, title, author ou stock)");
+        }
+    }
+
+    /**
+     * Posição após a última linha entregue. {@code value} é nulo quando a
+     * ordenação é por ID ou quando a coluna da última linha era nula.
+     */
+    public record Cursor(Object value, Long id) {
+
+        public static Cursor of(SortField sort, Book last) {
+            return new Cursor(sort.value(last), last.getId());
+        }
+    }
+
+    /**
+     * Monta os critérios a partir dos parâmetros da requisição.
+     *
+     * @param sort  coluna e direção, ex.: {@code title} ou {@code stock,desc}
+     * @param after cursor opaco devolvido em {@code nextCursor}
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public static BookSearch of(String title, String author, Boolean inStock, Integer minStock,
+            String sort, String after, Integer limit) {
+        String[] parts = (sort == null || sort.isBlank() ? "id" : sort).split(",");
+        SortField field = SortField.parse(parts[0].trim());
+        boolean descending = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
+        if (parts.length > 2 || (parts.length == 2 && !descending && !parts[1].trim().equalsIgnoreCase("asc"))) {
+            throw new IllegalArgumentException("Ordenação inválida: " + sort + " (ex.: title ou stock,desc)");
+        }
+        if (minStock != null && minStock < 0) {
+            throw new IllegalArgumentException("minStock não pode ser negativo");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        return new BookSearch(term(title), term(author), inStock, minStock, field, descending,
+                after == null || after.isBlank() ? null : decode(after, field, descending), size);
+    }
+
+    // Cursor: "<ordenação>|<a|d>|<id>|<valor>", em Base64 URL-safe; "~" marca valor nulo
+    public String encode(Cursor cursor) {
+        String value = cursor.value() == null ? "~" : "=" + cursor.value();
+        String raw = sort.property() + "|" + (descending ? "d" : "a") + "|" + cursor.id() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String token, SortField sort, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (parts.length != 4 || parts[3].isEmpty()) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (!parts[0].equals(sort.property()) || !parts[1].equals(descending ? "d" : "a")) {
+            throw new IllegalArgumentException("Cursor gerado para outra ordenação");
+        }
+        try {
+            Long id = Long.valueOf(parts[2]);
+            String raw = parts[3].startsWith("=") ? parts[3].substring(1) : null;
+            Object value = raw == null ? null : sort == SortField.STOCK ? Integer.valueOf(raw) : raw;
+            return new Cursor(sort == SortField.ID ? null : value, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    // Termo de busca parcial, já em minúsculas
+    private static String term(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.biblioteca.dto;
+
+import java.util.List;
+
+import com.biblioteca.model.Book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Página de uma busca combinada de livros")
+public record BookSearchResult(
+        @Schema(description = "Livros da página, na ordem pedida") List<Book> books,
+        @Schema(description = "Indica se há mais resultados após esta página") boolean hasMore,
+        @Schema(description = "Cursor para a próxima página (parâmetro after); nulo na última página")
+        String nextCursor) {
+}
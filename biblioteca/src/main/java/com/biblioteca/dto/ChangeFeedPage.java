@@ -0,0 +1,31 @@
+package com.biblioteca.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.biblioteca.model.ChangeEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Página do feed de alterações")
+public record ChangeFeedPage(
+        @Schema(description = "Alterações em ordem de cursor, no máximo uma por entidade") List<Event> events,
+        @Schema(description = "Cursor para a próxima chamada (parâmetro since)", example = "1042") long nextCursor,
+        @Schema(description = "Indica se já há mais alterações após nextCursor") boolean hasMore) {
+
+    public record Event(
+            @Schema(description = "Cursor do evento", example = "1042") long cursor,
+            @Schema(description = "Tipo da entidade", example = "BOOK") ChangeEvent.EntityType entity,
+            @Schema(description = "ID da entidade", example = "7") Long entityId,
+            @Schema(description = "Operação", example = "UPDATED") ChangeEvent.Operation operation,
+            @Schema(description = "Momento da alteração") LocalDateTime occurredAt,
+            @Schema(description = "Estado da entidade após a alteração; nulo em exclusões", type = "object")
+            @JsonRawValue String data) {
+
+        public static Event of(ChangeEvent event, ChangeEvent.Operation operation) {
+            return new Event(event.getId(), event.getEntityType(), event.getEntityId(), operation,
+                    event.getOccurredAt(), event.getData());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.cache.HoldQueue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Posição de um usuário na fila de reservas de um livro")
+public record HoldPosition(
+        @Schema(description = "ID da reserva", example = "15") Long holdId,
+        @Schema(description = "ID do livro", example = "1") Long bookId,
+        @Schema(description = "ID do usuário", example = "3") Long userId,
+        @Schema(description = "Posição na fila (1 = próximo a receber o livro)", example = "2") int position,
+        @Schema(description = "Reservas em espera para o livro", example = "5") int queueLength) {
+
+    public static HoldPosition of(Long bookId, Long userId, HoldQueue.Position position) {
+        return new HoldPosition(position.holdId(), bookId, userId, position.position(), position.length());
+    }
+}
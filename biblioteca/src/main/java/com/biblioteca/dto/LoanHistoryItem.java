@@ -0,0 +1,25 @@
+package com.biblioteca.dto;
+
+import java.time.LocalDate;
+
+import com.biblioteca.model.ArchivedLoan;
+import com.biblioteca.model.Loan;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Item do histórico de empréstimos de um usuário")
+public record LoanHistoryItem(
+        @Schema(description = "ID do empréstimo", example = "1") Long loanId,
+        @Schema(description = "ID do livro", example = "1") Long bookId,
+        @Schema(description = "Data do empréstimo") LocalDate loanDate,
+        @Schema(description = "Data de devolução (null se ainda emprestado)") LocalDate returnDate,
+        @Schema(description = "Indica se o registro vem do arquivo de empréstimos antigos") boolean archived) {
+
+    public static LoanHistoryItem of(Loan loan) {
+        return new LoanHistoryItem(loan.getId(), loan.getBook().getId(), loan.getLoanDate(), loan.getReturnDate(), false);
+    }
+
+    public static LoanHistoryItem of(ArchivedLoan loan) {
+        return new LoanHistoryItem(loan.getId(), loan.getBookId(), loan.getLoanDate(), loan.getReturnDate(), true);
+    }
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.model.Book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Livro emprestado pelos mesmos usuários de outro livro")
+public record RelatedBook(
+        @Schema(description = "ID do livro", example = "7") Long id,
+        @Schema(description = "Título", example = "A Revolução dos Bichos") String title,
+        @Schema(description = "Autor", example = "George Orwell") String author,
+        @Schema(description = "Quantos usuários pegaram os dois livros", example = "12") int borrowedTogether) {
+
+    public static RelatedBook of(Book book, int borrowedTogether) {
+        return new RelatedBook(book.getId(), book.getTitle(), book.getAuthor(), borrowedTogether);
+    }
+}
@@ -0,0 +1,40 @@
+package com.biblioteca.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mede o tempo gasto na execução de instruções JDBC.
+ * O Hibernate cria uma instância por sessão ({@code hibernate.session.events.auto}).
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private void record(long start) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.recordExecution(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.biblioteca.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada instrução SQL preparada pelo Hibernate na requisição atual.
+ * Registrado via {@code hibernate.session_factory.statement_inspector}.
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,75 @@
+package com.biblioteca.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Estatísticas de SQL acumuladas durante uma requisição HTTP.
+ * O contexto fica associado à thread da requisição e é alimentado pelo
+ * {@link QueryCountingInspector} e pelo {@link JdbcTimingListener}.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    // Limite de formatos distintos guardados por requisição
+    private static final int MAX_SHAPES = 50;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private int queryCount;
+    private long jdbcNanos;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    private QueryStats() {
+    }
+
+    // Inicia a contagem para a requisição atual
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // Retorna o contexto da requisição atual, ou null fora de uma requisição
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        queryCount++;
+        String shape = shapeOf(sql);
+        if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void recordExecution(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    // Normaliza o SQL para agrupar consultas repetidas (ex.: N+1)
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+}
@@ -0,0 +1,215 @@
+package com.biblioteca.monitoring;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Expõe a quantidade de consultas SQL e o tempo JDBC de cada requisição
+ * nos cabeçalhos {@code X-Query-Count} e {@code X-DB-Time}, e registra um
+ * aviso quando o orçamento configurado é excedido.
+ * <p>
+ * O corpo não é bufferizado: os cabeçalhos são gravados logo antes do
+ * commit da resposta (primeira escrita que o envia, {@code flushBuffer},
+ * erro ou redirecionamento) ou no fim da requisição. Consultas feitas
+ * depois disso (carregamento lazy durante a serialização de uma resposta
+ * grande) ficam fora dos cabeçalhos, mas entram no aviso de orçamento.
+ */
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    @Value("${biblioteca.query-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${biblioteca.query-stats.max-queries:20}")
+    private int maxQueries;
+
+    @Value("${biblioteca.query-stats.max-db-time-ms:500}")
+    private long maxDbTimeMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        StatsResponse wrapper = new StatsResponse(response, stats);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            QueryStats.end();
+            wrapper.writeHeaders();
+            checkBudget(request, stats);
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryStats stats) {
+        if (stats.getQueryCount() <= maxQueries && stats.getJdbcMillis() <= maxDbTimeMs) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        log.warn("Orçamento de SQL excedido: endpoint=\"{}\" queries={} maxQueries={} dbTimeMs={} maxDbTimeMs={} shapes={}",
+                endpoint, stats.getQueryCount(), maxQueries, stats.getJdbcMillis(), maxDbTimeMs, stats.getShapes());
+    }
+
+    // Grava os cabeçalhos antes de qualquer operação que possa fazer o commit da resposta
+    private static final class StatsResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean headersWritten;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        StatsResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getQueryCount()));
+            setHeader(DB_TIME_HEADER, String.valueOf(stats.getJdbcMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new StatsOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new StatsWriter(super.getWriter(), this));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+
+    private static final class StatsOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private final StatsResponse response;
+
+        StatsOutputStream(ServletOutputStream target, StatsResponse response) {
+            this.target = target;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.writeHeaders();
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.writeHeaders();
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.writeHeaders();
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            response.writeHeaders();
+            target.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            target.setWriteListener(listener);
+        }
+    }
+
+    private static final class StatsWriter extends Writer {
+
+        private final PrintWriter target;
+        private final StatsResponse response;
+
+        StatsWriter(PrintWriter target, StatsResponse response) {
+            this.target = target;
+            this.response = response;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            response.writeHeaders();
+            target.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            response.writeHeaders();
+            target.flush();
+        }
+
+        @Override
+        public void close() {
+            response.writeHeaders();
+            target.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.biblioteca.projection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lista de campos que um endpoint aceita no parâmetro {@code ?fields=}.
+ * Cada campo aponta para o caminho JPA usado na projeção SQL e para o
+ * getter usado quando a projeção é feita em memória.
+ */
+public class FieldSet<T> {
+
+    private final Class<T> entityClass;
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+
+    private FieldSet(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public static <T> FieldSet<T> of(Class<T> entityClass) {
+        return new FieldSet<>(entityClass);
+    }
+
+    public FieldSet<T> field(String name, Function<T, Object> getter) {
+        return field(name, name, getter);
+    }
+
+    // Campo cujo caminho JPA difere do nome exposto (ex.: "bookId" -> "book.id")
+    public FieldSet<T> field(String name, String path, Function<T, Object> getter) {
+        fields.put(name, new Field<>(name, path, getter));
+        return this;
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    // Campo pelo nome exposto
+    public Field<T> field(String name) {
+        Field<T> field = fields.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Campo inexistente em " + entityClass.getSimpleName() + ": " + name);
+        }
+        return field;
+    }
+
+    /**
+     * Converte o valor de {@code ?fields=} (nomes separados por vírgula) nos
+     * campos correspondentes, na ordem pedida.
+     *
+     * @throws IllegalArgumentException se algum campo não for permitido
+     */
+    public List<Field<T>> select(String fieldsParam) {
+        List<Field<T>> selected = new ArrayList<>();
+        for (String name : fieldsParam.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Field<T> field = fields.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("Campo inválido: '" + trimmed
+                        + "'. Campos permitidos: " + String.join(", ", fields.keySet()));
+            }
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo. Campos permitidos: "
+                    + String.join(", ", fields.keySet()));
+        }
+        return selected;
+    }
+
+    // Todos os campos da entidade, na ordem declarada
+    public Map<String, Object> toMap(T entity) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.values().forEach(field -> values.put(field.name(), field.getter().apply(entity)));
+        return values;
+    }
+
+    public record Field<T>(String name, String path, Function<T, Object> getter) {
+    }
+}
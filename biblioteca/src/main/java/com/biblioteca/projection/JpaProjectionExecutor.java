@@ -0,0 +1,76 @@
+package com.biblioteca.projection;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Gera um SELECT apenas com as colunas pedidas (Criteria API com Tuple),
+ * sem carregar as entidades no contexto de persistência.
+ */
+@Component
+@Profile("!memory")
+public class JpaProjectionExecutor implements ProjectionExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> List<Map<String, Object>> execute(ProjectionQuery<T> query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<T> root = criteria.from(query.entityClass());
+
+        criteria.multiselect(query.fields().stream()
+                .<Selection<?>>map(field -> path(root, field.path()).alias(field.name()))
+                .toList());
+
+        ProjectionQuery.Filter filter = query.filter();
+        if (filter != null) {
+            Path<Object> path = path(root, query.filterField().path());
+            criteria.where(switch (filter.operator()) {
+                case EQUALS -> cb.equal(path, filter.value());
+                // % e _ do valor são literais, como no "Containing" do Spring Data
+                case CONTAINS_IGNORE_CASE -> cb.like(cb.lower(path.as(String.class)),
+                        "%" + escapeLike(filter.value().toString().toLowerCase(Locale.ROOT)) + "%", '\\');
+            });
+        }
+        criteria.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(criteria).getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    query.fields().forEach(field -> row.put(field.name(), tuple.get(field.name())));
+                    return row;
+                })
+                .toList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // "book.id" -> root.get("book").get("id"); o ID da associação vem da FK, sem join
+    private static Path<Object> path(Root<?> root, String dotted) {
+        Path<Object> path = null;
+        for (String segment : dotted.split("\\.")) {
+            path = path == null ? root.get(segment) : path.get(segment);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.projection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executa uma {@link ProjectionQuery}, devolvendo um mapa por linha com os
+ * campos pedidos, na ordem pedida.
+ */
+public interface ProjectionExecutor {
+
+    <T> List<Map<String, Object>> execute(ProjectionQuery<T> query);
+}
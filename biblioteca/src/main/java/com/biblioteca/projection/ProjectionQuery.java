@@ -0,0 +1,57 @@
+package com.biblioteca.projection;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Consulta projetada: campos selecionados e filtro opcional sobre um
+ * {@link FieldSet}. O filtro aponta para um campo do conjunto, de onde vêm
+ * tanto o caminho JPA (consulta SQL) quanto o getter (avaliação em memória,
+ * ver {@link #matches(Object)}), para que os dois motores não divirjam.
+ */
+public record ProjectionQuery<T>(
+        FieldSet<T> fieldSet,
+        List<FieldSet.Field<T>> fields,
+        Filter filter) {
+
+    public enum Operator {
+        EQUALS,
+        CONTAINS_IGNORE_CASE
+    }
+
+    // field: nome de um campo do FieldSet (selecionado ou não)
+    public record Filter(String field, Operator operator, Object value) {
+    }
+
+    public static <T> ProjectionQuery<T> all(FieldSet<T> fieldSet, List<FieldSet.Field<T>> fields) {
+        return new ProjectionQuery<>(fieldSet, fields, null);
+    }
+
+    public static <T> ProjectionQuery<T> where(FieldSet<T> fieldSet, List<FieldSet.Field<T>> fields, Filter filter) {
+        fieldSet.field(filter.field());
+        return new ProjectionQuery<>(fieldSet, fields, filter);
+    }
+
+    public Class<T> entityClass() {
+        return fieldSet.getEntityClass();
+    }
+
+    // Campo do filtro, com o caminho JPA e o getter
+    public FieldSet.Field<T> filterField() {
+        return fieldSet.field(filter.field());
+    }
+
+    // Avalia o filtro sobre uma entidade já carregada, com a mesma semântica do SQL
+    public boolean matches(T entity) {
+        if (filter == null) {
+            return true;
+        }
+        Object value = filterField().getter().apply(entity);
+        return switch (filter.operator()) {
+            case EQUALS -> Objects.equals(value, filter.value());
+            case CONTAINS_IGNORE_CASE -> value != null && value.toString().toLowerCase(Locale.ROOT)
+                    .contains(filter.value().toString().toLowerCase(Locale.ROOT));
+        };
+    }
+}
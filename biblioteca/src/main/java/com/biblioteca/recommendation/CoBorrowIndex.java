@@ -0,0 +1,346 @@
+package com.biblioteca.recommendation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.model.Loan;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.BorrowRecord;
+import com.biblioteca.repository.LoanRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Modelo "quem pegou este livro também pegou", mantido em memória: para
+ * cada livro, quantos usuários também pegaram cada um dos outros livros.
+ *
+ * Na inicialização, o histórico completo ({@code loans} e
+ * {@code loans_archive}) é lido em faixas de usuários e cada faixa é contada
+ * no pool fork-join enquanto a seguinte é lida; só algumas faixas ficam em
+ * memória ao mesmo tempo. Depois,
+ * cada empréstimo criado atualiza o modelo após o commit, em uma thread
+ * própria, sem atrasar a resposta. A carga guarda os IDs que contou (um bit
+ * por empréstimo): um empréstimo com ID menor que o maior lido, mas
+ * confirmado depois que a faixa do seu usuário foi lida, ainda é contado
+ * pela atualização. Para limitar a memória, cada livro
+ * guarda no máximo {@code max-neighbors} vizinhos (os de maior contagem) e
+ * cada usuário contribui com os últimos {@code max-history-per-user} livros;
+ * as contagens são, portanto, aproximadas.
+ */
+@Component
+public class CoBorrowIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CoBorrowIndex.class);
+
+    // Históricos de usuários por tarefa fork-join
+    private static final int USERS_PER_TASK = 256;
+
+    // Usuários lidos por consulta na carga inicial
+    private static final int USERS_PER_READ = 2048;
+
+    // Linhas por livro, divididas em faixas com trava própria (escolhidas pelos bits altos do hash)
+    private static final int ROW_STRIPES = 64;
+
+    @SuppressWarnings("unchecked")
+    private final LongObjectHashMap<LongIntHashMap>[] rows = new LongObjectHashMap[ROW_STRIPES];
+
+    {
+        for (int i = 0; i < ROW_STRIPES; i++) {
+            rows[i] = new LongObjectHashMap<>(64);
+        }
+    }
+
+    // Uma única thread aplica a carga inicial e as atualizações, na ordem
+    private final ExecutorService updates = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "co-borrow-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private ArchivedLoanRepository archiveRepo;
+
+    @Value("${biblioteca.related.max-neighbors:50}")
+    private int maxNeighbors;
+
+    @Value("${biblioteca.related.max-history-per-user:200}")
+    private int maxHistoryPerUser;
+
+    // Limite de IDs da carga inicial; acima dele, todo empréstimo é novo
+    private volatile long loadedUpTo = Long.MAX_VALUE;
+
+    // IDs até loadedUpTo que a carga de fato leu (null: todos, antes da carga)
+    private volatile BitSet loadedIds;
+
+    public record Neighbor(long bookId, int count) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        updates.execute(this::load);
+    }
+
+    public int maxNeighbors() {
+        return maxNeighbors;
+    }
+
+    // Livros mais emprestados junto com o livro informado, do mais frequente ao menos
+    public List<Neighbor> related(long bookId, int limit) {
+        LongIntHashMap row = row(bookId);
+        if (row == null) {
+            return List.of();
+        }
+        int[] counts = new int[limit];
+        long[] books;
+        synchronized (row) {
+            books = row.top(limit, counts);
+        }
+        List<Neighbor> neighbors = new ArrayList<>(books.length);
+        for (int i = 0; i < books.length; i++) {
+            neighbors.add(new Neighbor(books[i], counts[i]));
+        }
+        return neighbors;
+    }
+
+    // Conta o novo empréstimo após o commit; o histórico do usuário é lido fora da requisição
+    public void loanCreated(Loan loan) {
+        long loanId = loan.getId();
+        long userId = loan.getUser().getId();
+        long bookId = loan.getBook().getId();
+        afterCommit(() -> updates.execute(() -> addLoan(loanId, userId, bookId)));
+    }
+
+    // Remove a linha do livro excluído; referências a ele em outras linhas são filtradas na leitura
+    public void bookDeleted(long bookId) {
+        afterCommit(() -> {
+            LongObjectHashMap<LongIntHashMap> stripe = stripe(bookId);
+            synchronized (stripe) {
+                stripe.remove(bookId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updates.shutdownNow();
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Deque<ForkJoinTask<Void>> counting = new ArrayDeque<>();
+        long loans = 0;
+        int users = 0;
+        BitSet seen = new BitSet();
+        try {
+            long upTo = Math.max(loanRepo.findMaxId().orElse(0L), archiveRepo.findMaxId().orElse(0L));
+            long afterUser = 0;
+            List<Long> borrowers;
+            while (!(borrowers = nextBorrowers(afterUser)).isEmpty()) {
+                long lastUser = borrowers.get(borrowers.size() - 1);
+                List<BorrowRecord> borrows = Stream.concat(
+                                loanRepo.findBorrowsOfUsers(afterUser, lastUser, upTo).stream(),
+                                archiveRepo.findBorrowsOfUsers(afterUser, lastUser, upTo).stream())
+                        .toList();
+                borrows.forEach(borrow -> seen.set(Math.toIntExact(borrow.loanId())));
+                List<long[]> histories = borrows.stream()
+                        .collect(Collectors.groupingBy(BorrowRecord::userId))
+                        .values().stream()
+                        .map(this::recentBooks)
+                        .filter(books -> books.length > 1)
+                        .toList();
+                loans += borrows.size();
+                users += histories.size();
+                // Limita as faixas lidas e ainda não contadas
+                if (counting.size() >= pool.getParallelism()) {
+                    counting.poll().join();
+                }
+                counting.add(pool.submit(new CountTask(histories, 0, histories.size())));
+                afterUser = lastUser;
+            }
+            counting.forEach(ForkJoinTask::join);
+            loadedIds = seen;
+            loadedUpTo = upTo;
+        } catch (RuntimeException e) {
+            // Sem o histórico, o modelo começa vazio e cresce com os novos empréstimos
+            counting.forEach(ForkJoinTask::quietlyJoin);
+            for (LongObjectHashMap<LongIntHashMap> stripe : rows) {
+                synchronized (stripe) {
+                    stripe.clear();
+                }
+            }
+            log.warn("Carga do modelo de livros relacionados falhou: {}", e.getMessage());
+            loadedIds = new BitSet();
+            loadedUpTo = 0;
+            return;
+        }
+        log.info("Modelo de livros relacionados carregado: emprestimos={} usuarios={} livros={} ms={}",
+                loans, users, rowCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Próximos IDs de usuário com histórico em qualquer das tabelas, em ordem
+    private List<Long> nextBorrowers(long afterUser) {
+        PageRequest page = PageRequest.of(0, USERS_PER_READ);
+        return Stream.concat(loanRepo.findBorrowerIdsAfter(afterUser, page).stream(),
+                        archiveRepo.findBorrowerIdsAfter(afterUser, page).stream())
+                .distinct()
+                .sorted()
+                .limit(USERS_PER_READ)
+                .toList();
+    }
+
+    private void addLoan(long loanId, long userId, long bookId) {
+        if (countedByLoad(loanId)) {
+            return;
+        }
+        List<BorrowRecord> earlier = Stream.concat(loanRepo.findBorrowsByUserId(userId).stream(),
+                        archiveRepo.findBorrowsByUserId(userId).stream())
+                .filter(borrow -> borrow.loanId() < loanId)
+                .toList();
+        long[] others = recentBooks(earlier);
+        // O par já foi contado quando o usuário pegou o livro pela primeira vez
+        for (long other : others) {
+            if (other == bookId) {
+                return;
+            }
+        }
+        // Só os pares novos: o livro pego agora com cada um dos anteriores
+        long[] recent = Arrays.copyOf(others, Math.min(others.length, maxHistoryPerUser - 1));
+        increment(bookId, recent);
+        for (long other : recent) {
+            increment(other, new long[] { bookId });
+        }
+    }
+
+    // Lido pela carga inicial; os confirmados depois da leitura da faixa do usuário não foram
+    private boolean countedByLoad(long loanId) {
+        BitSet ids = loadedIds;
+        return loanId <= loadedUpTo && (ids == null || ids.get(Math.toIntExact(loanId)));
+    }
+
+    // Livros distintos do usuário, do empréstimo mais recente para o mais antigo, até o limite
+    private long[] recentBooks(Collection<BorrowRecord> borrows) {
+        Set<Long> books = new LinkedHashSet<>();
+        borrows.stream()
+                .sorted(Comparator.comparing(BorrowRecord::loanId).reversed())
+                .map(BorrowRecord::bookId)
+                .takeWhile(book -> books.size() < maxHistoryPerUser)
+                .forEach(books::add);
+        return books.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Cada livro do histórico ganha +1 com cada um dos outros
+    private void addPairs(long[] books) {
+        for (long book : books) {
+            increment(book, books);
+        }
+    }
+
+    private void increment(long book, long[] others) {
+        LongIntHashMap row;
+        LongObjectHashMap<LongIntHashMap> stripe = stripe(book);
+        synchronized (stripe) {
+            row = stripe.computeIfAbsent(book, id -> new LongIntHashMap(maxNeighbors));
+        }
+        synchronized (row) {
+            for (long other : others) {
+                if (other != book) {
+                    row.addTo(other, 1);
+                }
+            }
+            // Poda só ao dobrar o limite, para não ordenar a cada incremento
+            if (row.size() > 2 * maxNeighbors) {
+                row.retainTop(maxNeighbors);
+            }
+        }
+    }
+
+    private LongIntHashMap row(long book) {
+        LongObjectHashMap<LongIntHashMap> stripe = stripe(book);
+        synchronized (stripe) {
+            return stripe.get(book);
+        }
+    }
+
+    private LongObjectHashMap<LongIntHashMap> stripe(long book) {
+        return rows[(int) ((book * 0x9E3779B97F4A7C15L) >>> 58)];
+    }
+
+    private int rowCount() {
+        int count = 0;
+        for (LongObjectHashMap<LongIntHashMap> stripe : rows) {
+            synchronized (stripe) {
+                count += stripe.size();
+            }
+        }
+        return count;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Divide os históricos ao meio até um tamanho pequeno e conta os pares em paralelo
+    private class CountTask extends RecursiveAction {
+
+        private final List<long[]> histories;
+        private final int from;
+        private final int to;
+
+        CountTask(List<long[]> histories, int from, int to) {
+            this.histories = histories;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= USERS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    addPairs(histories.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CountTask(histories, from, mid), new CountTask(histories, mid, to));
+        }
+    }
+}
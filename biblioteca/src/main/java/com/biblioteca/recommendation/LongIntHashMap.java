@@ -0,0 +1,127 @@
+package com.biblioteca.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de {@code long} para {@code int} com endereçamento aberto, sem
+ * objetos por entrada. Guarda as contagens de uma linha do modelo de
+ * coocorrência. A chave 0 marca posição vazia, o que serve para IDs de
+ * livro (sempre positivos). Não é thread-safe.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        if (key == EMPTY) {
+            return 0;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    // Soma à contagem da chave, criando a entrada se preciso
+    void addTo(long key, int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Chave inválida: 0");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Chaves com as maiores contagens, em ordem decrescente (no máximo
+     * {@code limit}). As contagens correspondentes são gravadas em
+     * {@code counts}, se informado.
+     */
+    long[] top(int limit, int[] counts) {
+        long[] ranked = ranked();
+        int n = Math.min(limit, ranked.length);
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) {
+            int slot = (int) ranked[ranked.length - 1 - i];
+            result[i] = keys[slot];
+            if (counts != null) {
+                counts[i] = values[slot];
+            }
+        }
+        return result;
+    }
+
+    // Mantém só as {@code limit} chaves de maior contagem
+    void retainTop(int limit) {
+        if (size <= limit) {
+            return;
+        }
+        int[] counts = new int[limit];
+        long[] kept = top(limit, counts);
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < kept.length; i++) {
+            addTo(kept[i], counts[i]);
+        }
+    }
+
+    // Posições ocupadas ordenadas por contagem: contagem nos 32 bits altos, posição nos baixos
+    private long[] ranked() {
+        long[] ranked = new long[size];
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                ranked[n++] = ((long) values[slot] << 32) | slot;
+            }
+        }
+        Arrays.sort(ranked);
+        return ranked;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
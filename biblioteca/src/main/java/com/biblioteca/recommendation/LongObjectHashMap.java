@@ -0,0 +1,123 @@
+package com.biblioteca.recommendation;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Mapa de {@code long} para objeto com endereçamento aberto, sem caixas
+ * {@code Long} nem nós por entrada. Guarda as linhas do modelo de
+ * coocorrência, indexadas pelo ID do livro. Como no {@link LongIntHashMap},
+ * a chave 0 marca posição vazia. Não é thread-safe.
+ */
+final class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        if (key == EMPTY) {
+            return null;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? (V) values[slot] : null;
+    }
+
+    // Valor da chave, criado pela fábrica se ainda não existir
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Chave inválida: 0");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            return (V) values[slot];
+        }
+        V value = factory.apply(key);
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        return value;
+    }
+
+    /**
+     * Remove a chave e devolve o valor anterior. As entradas seguintes da
+     * mesma sequência de sondagem são recuadas para a posição liberada, para
+     * que continuem alcançáveis sem marcas de remoção.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        if (key == EMPTY) {
+            return null;
+        }
+        int slot = find(key);
+        if (keys[slot] != key) {
+            return null;
+        }
+        V removed = (V) values[slot];
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = mix(keys[next]) & mask;
+            // A entrada pode ocupar o buraco se ele estiver no caminho entre sua posição ideal e a atual
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,41 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.biblioteca.model.ArchivedLoan;
+
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+
+    // Buscar empréstimos arquivados de um usuário
+    List<ArchivedLoan> findByUserId(Long userId);
+
+    // Próximos usuários com histórico arquivado, em ordem de ID (carga do modelo de livros relacionados)
+    @Query("select distinct a.userId from ArchivedLoan a where a.userId > :afterUserId order by a.userId")
+    List<Long> findBorrowerIdsAfter(@Param("afterUserId") Long afterUserId, Pageable page);
+
+    // Histórico arquivado (usuário e livro) de uma faixa de usuários, até um ID de empréstimo
+    @Query("select new com.biblioteca.repository.BorrowRecord(a.id, a.userId, a.bookId) from ArchivedLoan a "
+            + "where a.userId > :afterUserId and a.userId <= :lastUserId and a.id <= :maxLoanId")
+    List<BorrowRecord> findBorrowsOfUsers(@Param("afterUserId") Long afterUserId,
+            @Param("lastUserId") Long lastUserId, @Param("maxLoanId") Long maxLoanId);
+
+    // Maior ID arquivado (o ID do empréstimo é preservado no arquivamento)
+    @Query("select max(a.id) from ArchivedLoan a")
+    Optional<Long> findMaxId();
+
+    // Empréstimos arquivados de um usuário (usuário e livro)
+    @Query("select new com.biblioteca.repository.BorrowRecord(a.id, a.userId, a.bookId) from ArchivedLoan a where a.userId = :userId")
+    List<BorrowRecord> findBorrowsByUserId(@Param("userId") Long userId);
+
+    // Remover o histórico arquivado de um usuário
+    @Modifying
+    @Query("delete from ArchivedLoan a where a.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
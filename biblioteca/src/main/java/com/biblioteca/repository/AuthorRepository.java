@@ -0,0 +1,41 @@
+package com.biblioteca.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.biblioteca.model.Author;
+
+import jakarta.persistence.LockModeType;
+
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    // Buscar autores pelas chaves normalizadas (índice único em name_key)
+    List<Author> findByNameKeyIn(Collection<String> nameKeys);
+
+    // Relê os autores com bloqueio compartilhado, que enxerga linhas confirmadas após o início da transação
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select a from Author a where a.nameKey in :nameKeys")
+    List<Author> findByNameKeyInForShare(@Param("nameKeys") Collection<String> nameKeys);
+
+    // Cria o autor se a chave ainda não existe; chave repetida não é erro nem aborta a transação
+    @Modifying
+    @Query(value = "insert into authors (name, name_key, book_count) values (:name, :nameKey, 0) "
+            + "on duplicate key update id = id", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("nameKey") String nameKey);
+
+    // Autores com livros no acervo, em ordem alfabética, filtrando pelo início da chave
+    @Query("select a from Author a where a.nameKey like concat(:prefix, '%') and a.bookCount > 0 order by a.nameKey")
+    List<Author> browse(@Param("prefix") String prefix, Pageable page);
+
+    // Ajusta a contagem de livros sem carregar o autor
+    @Modifying
+    @Query("update Author a set a.bookCount = a.bookCount + :delta where a.id = :id")
+    int adjustBookCount(@Param("id") Long id, @Param("delta") int delta);
+}
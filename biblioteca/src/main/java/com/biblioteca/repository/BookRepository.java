@@ -0,0 +1,64 @@
+package com.biblioteca.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.biblioteca.model.Book;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookSearchRepository {
+
+    // Valor de lock.timeout que o Hibernate traduz para SKIP LOCKED (LockOptions.SKIP_LOCKED)
+    String SKIP_LOCKED = "-2";
+
+    // Buscar livros contendo parte do título (ignorando maiúsculas/minúsculas)
+    List<Book> findByTitleContainingIgnoreCase(String title);
+
+    // Buscar livros contendo parte do nome do autor (ignorando maiúsculas/minúsculas)
+    List<Book> findByAuthorContainingIgnoreCase(String author);
+
+    // Buscar livros de um autor normalizado (via tabela book_authors)
+    List<Book> findByAuthorsId(Long authorId);
+
+    // Livros ainda não vinculados aos autores, após um ID (migração de autores). Bloqueia os
+    // livros lidos e pula os já bloqueados (SKIP LOCKED): instâncias iniciando juntas dividem o acervo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select b from Book b where b.authorsSynced = false and b.id > :afterId order by b.id")
+    List<Book> findAuthorsNotSynced(@Param("afterId") Long afterId, Pageable page);
+
+    // Página do catálogo após um ID (snapshot do catálogo)
+    @Query("select b from Book b where b.id > :afterId order by b.id")
+    List<Book> findPageAfter(@Param("afterId") Long afterId, Pageable page);
+
+    // Livros alterados após um instante (atualização do cache após o snapshot)
+    List<Book> findByUpdatedAtAfter(LocalDateTime since);
+
+    // Última alteração do catálogo (índice em updated_at); decide se o snapshot precisa ser regravado
+    @Query("select max(b.updatedAt) from Book b")
+    Optional<LocalDateTime> findLastUpdatedAt();
+
+    // Todos os IDs, para descartar do cache livros removidos
+    @Query("select b.id from Book b")
+    List<Long> findAllIds();
+
+    // Carrega e bloqueia o livro para alterar o estoque
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+
+    // Soma uma quantidade ao estoque sem carregar o livro; updatedAt usa o relógio da aplicação, como o @PreUpdate
+    @Modifying
+    @Query("update Book b set b.stock = b.stock + :amount, b.updatedAt = :now where b.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+
+import com.biblioteca.dto.BookSearch;
+import com.biblioteca.model.Book;
+
+/**
+ * Busca combinada de livros (fragmento do {@link BookRepository}).
+ */
+public interface BookSearchRepository {
+
+    // Até maxResults livros que atendem aos critérios, após o cursor, na ordem pedida
+    List<Book> search(BookSearch search, int maxResults);
+}
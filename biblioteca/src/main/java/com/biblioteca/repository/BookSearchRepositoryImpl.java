@@ -0,0 +1,96 @@
+package com.biblioteca.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.biblioteca.dto.BookSearch;
+import com.biblioteca.model.Book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Monta uma única consulta dinâmica (Criteria API) com os filtros
+ * informados e paginação por chave: {@code ORDER BY coluna, id} com
+ * {@code LIMIT}, sem {@code OFFSET} e sem {@code COUNT}.
+ *
+ * NULLs seguem o padrão do MySQL e do H2: primeiro na ordem crescente e
+ * por último na decrescente.
+ */
+class BookSearchRepositoryImpl implements BookSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Book> search(BookSearch search, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (search.title() != null) {
+            where.add(cb.like(cb.lower(book.get("title")), "%" + escapeLike(search.title()) + "%", '\\'));
+        }
+        if (search.author() != null) {
+            where.add(cb.like(cb.lower(book.get("author")), "%" + escapeLike(search.author()) + "%", '\\'));
+        }
+        if (search.inStock() != null) {
+            where.add(search.inStock() ? cb.gt(book.get("stock"), 0) : cb.le(book.get("stock"), 0));
+        }
+        if (search.minStock() != null) {
+            where.add(cb.ge(book.get("stock"), search.minStock()));
+        }
+        if (search.after() != null) {
+            where.add(after(cb, book, search));
+        }
+        query.where(where.toArray(Predicate[]::new));
+
+        Path<Long> id = book.get("id");
+        if (search.sort() == BookSearch.SortField.ID) {
+            query.orderBy(search.descending() ? cb.desc(id) : cb.asc(id));
+        } else {
+            Path<?> column = book.get(search.sort().property());
+            query.orderBy(search.descending() ? cb.desc(column) : cb.asc(column),
+                    search.descending() ? cb.desc(id) : cb.asc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    // Linhas posteriores ao cursor na ordem (coluna, id)
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Predicate after(CriteriaBuilder cb, Root<Book> book, BookSearch search) {
+        BookSearch.Cursor cursor = search.after();
+        boolean desc = search.descending();
+        Path<Long> id = book.get("id");
+        Predicate afterId = desc ? cb.lt(id, cursor.id()) : cb.gt(id, cursor.id());
+        if (search.sort() == BookSearch.SortField.ID) {
+            return afterId;
+        }
+
+        Expression<Comparable> column = book.get(search.sort().property());
+        if (cursor.value() == null) {
+            // Crescente: os nulos vêm primeiro, seguidos de todos os não nulos
+            // Decrescente: os nulos vêm por último, então só restam nulos
+            Predicate sameNull = cb.and(cb.isNull(column), afterId);
+            return desc ? sameNull : cb.or(sameNull, cb.isNotNull(column));
+        }
+        Comparable value = (Comparable) cursor.value();
+        Predicate beyond = desc ? cb.lessThan(column, value) : cb.greaterThan(column, value);
+        Predicate tie = cb.and(cb.equal(column, value), afterId);
+        return desc ? cb.or(beyond, tie, cb.isNull(column)) : cb.or(beyond, tie);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
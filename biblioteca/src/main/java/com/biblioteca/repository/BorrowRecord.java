@@ -0,0 +1,9 @@
+package com.biblioteca.repository;
+
+/**
+ * Empréstimo reduzido a quem pegou qual livro, lido das tabelas
+ * {@code loans} e {@code loans_archive} sem carregar as entidades. O ID do
+ * empréstimo é preservado no arquivamento e ordena o histórico.
+ */
+public record BorrowRecord(Long loanId, Long userId, Long bookId) {
+}
@@ -0,0 +1,26 @@
+package com.biblioteca.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.biblioteca.model.ChangeEvent;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // Eventos após o cursor, em ordem de ID; a visibilidade é verificada por quem lê
+    @Query("select e from ChangeEvent e where e.id > :since order by e.id")
+    List<ChangeEvent> findAfter(@Param("since") Long since, Pageable page);
+
+    // Menor cursor ainda retido (após a limpeza)
+    @Query("select min(e.id) from ChangeEvent e")
+    Long findMinId();
+
+    // IDs de eventos anteriores à data, em lotes para a limpeza
+    @Query("select e.id from ChangeEvent e where e.occurredAt < :cutoff order by e.id")
+    List<Long> findIdsOccurredBefore(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+}
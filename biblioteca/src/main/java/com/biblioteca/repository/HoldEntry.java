@@ -0,0 +1,8 @@
+package com.biblioteca.repository;
+
+/**
+ * Reserva em espera reduzida aos IDs, usada para montar a fila em memória
+ * sem carregar as entidades.
+ */
+public record HoldEntry(Long holdId, Long bookId, Long userId) {
+}
@@ -0,0 +1,41 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.biblioteca.model.Hold;
+
+import jakarta.persistence.LockModeType;
+
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    // Reserva em espera de um usuário para um livro, se houver
+    @Query("select h from Hold h where h.user.id = :userId and h.book.id = :bookId and h.status = com.biblioteca.model.Hold.Status.WAITING")
+    Optional<Hold> findWaiting(@Param("userId") Long userId, @Param("bookId") Long bookId);
+
+    // Primeiras reservas em espera de um livro, bloqueadas para a alocação
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from Hold h where h.book.id = :bookId and h.status = com.biblioteca.model.Hold.Status.WAITING order by h.id")
+    List<Hold> findNextWaitingForUpdate(@Param("bookId") Long bookId, Pageable page);
+
+    // Todas as reservas em espera, em ordem de chegada
+    @Query("select new com.biblioteca.repository.HoldEntry(h.id, h.book.id, h.user.id) from Hold h where h.status = com.biblioteca.model.Hold.Status.WAITING order by h.id")
+    List<HoldEntry> findAllWaiting();
+
+    // Remover as reservas de um usuário
+    @Modifying
+    @Query("delete from Hold h where h.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Remover as reservas de um livro
+    @Modifying
+    @Query("delete from Hold h where h.book.id = :bookId")
+    int deleteByBookId(@Param("bookId") Long bookId);
+}
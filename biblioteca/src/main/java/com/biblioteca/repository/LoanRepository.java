@@ -0,0 +1,66 @@
+package com.biblioteca.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.biblioteca.model.Loan;
+
+import jakarta.persistence.LockModeType;
+
+public interface LoanRepository extends JpaRepository<Loan, Long> {
+
+    // Buscar empréstimos por ID do usuário
+    List<Loan> findByUserId(Long userId);
+
+    // Buscar empréstimos por ID do livro
+    List<Loan> findByBookId(Long bookId);
+
+    // Buscar todos os empréstimos não devolvidos
+    List<Loan> findByReturnDateIsNull();
+
+    // Buscar empréstimos de um determinado usuário ainda não devolvidos
+    List<Loan> findByUserIdAndReturnDateIsNull(Long userId);
+    
+    boolean existsByUserIdAndBookIdAndReturnDateIsNull(Long userId, Long bookId);
+
+    // IDs de empréstimos devolvidos antes da data, em lotes para o arquivamento
+    @Query("select l.id from Loan l where l.returnDate < :cutoff order by l.id")
+    List<Long> findIdsReturnedBefore(@Param("cutoff") LocalDate cutoff, Pageable page);
+
+    // Próximos usuários com empréstimos, em ordem de ID (carga do modelo de livros relacionados por faixas)
+    @Query("select distinct l.user.id from Loan l where l.user.id > :afterUserId order by l.user.id")
+    List<Long> findBorrowerIdsAfter(@Param("afterUserId") Long afterUserId, Pageable page);
+
+    // Empréstimos (usuário e livro) de uma faixa de usuários, até um ID de empréstimo
+    @Query("select new com.biblioteca.repository.BorrowRecord(l.id, l.user.id, l.book.id) from Loan l "
+            + "where l.user.id > :afterUserId and l.user.id <= :lastUserId and l.id <= :maxLoanId")
+    List<BorrowRecord> findBorrowsOfUsers(@Param("afterUserId") Long afterUserId,
+            @Param("lastUserId") Long lastUserId, @Param("maxLoanId") Long maxLoanId);
+
+    // Maior ID de empréstimo, que delimita a carga inicial do modelo
+    @Query("select max(l.id) from Loan l")
+    Optional<Long> findMaxId();
+
+    // Empréstimos de um usuário (usuário e livro), para o modelo de livros relacionados
+    @Query("select new com.biblioteca.repository.BorrowRecord(l.id, l.user.id, l.book.id) from Loan l where l.user.id = :userId")
+    List<BorrowRecord> findBorrowsByUserId(@Param("userId") Long userId);
+
+    // Carrega e bloqueia os empréstimos de uma devolução em lote (ordem fixa evita deadlocks)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Loan l where l.id in :ids order by l.id")
+    List<Loan> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Marca vários empréstimos como devolvidos em uma única instrução
+    @Modifying
+    @Query("update Loan l set l.returnDate = :returnDate where l.id in :ids and l.returnDate is null")
+    int markReturned(@Param("ids") Collection<Long> ids, @Param("returnDate") LocalDate returnDate);
+}
@@ -1,8 +1,10 @@
 package com.biblioteca.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.biblioteca.model.User;
 
@@ -13,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Verificar se existe usuário com email
     boolean existsByEmail(String email);
+
+    // Todos os emails cadastrados (para o filtro de disponibilidade)
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
 }
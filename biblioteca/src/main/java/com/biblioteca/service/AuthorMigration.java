@@ -0,0 +1,69 @@
+package com.biblioteca.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.BookRepository;
+
+/**
+ * Migração dos autores em texto livre para a entidade {@code Author}.
+ * Na inicialização, vincula os livros ainda não sincronizados, em lotes;
+ * grafias equivalentes ("George Orwell", "george  orwell") viram um único
+ * autor. Cada livro processado fica marcado (inclusive os sem autor), então
+ * as inicializações seguintes só consultam o índice e não percorrem o acervo.
+ * <p>
+ * Cada lote bloqueia os livros que lê e pula os bloqueados por outra
+ * instância ({@code SKIP LOCKED}); um livro nunca é migrado duas vezes, o que
+ * contaria o autor em dobro. Livros pulados ficam para a instância que os
+ * bloqueou ou, se ela falhar, para a próxima inicialização.
+ */
+@Component
+public class AuthorMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Book> batch = transactionTemplate.execute(status -> {
+                List<Book> books = bookRepo.findAuthorsNotSynced(afterId, PageRequest.of(0, BATCH_SIZE));
+                for (Book book : books) {
+                    authorService.syncAuthors(book);
+                    bookRepo.save(book);
+                }
+                return books;
+            });
+            if (batch.isEmpty()) {
+                break;
+            }
+            migrated += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (migrated > 0) {
+            log.info("Migração de autores concluída: livros={}", migrated);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.biblioteca.service;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@Service
+public class AuthorService {
+
+    // Separadores aceitos entre vários autores no campo author do livro
+    private static final Pattern SEPARATORS = Pattern.compile("[;&]");
+
+    @Autowired
+    private AuthorRepository authorRepo;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    // Listar autores (facetas) pelo início do nome
+    public List<Author> browse(String prefix, int limit) {
+        String key = prefix == null ? "" : Author.normalize(prefix);
+        return authorRepo.browse(key, PageRequest.of(0, limit));
+    }
+
+    // Buscar autor por ID
+    public Author getAuthorById(Long id) {
+        return authorRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado com ID: " + id));
+    }
+
+    // Livros de um autor
+    public List<Book> getBooksByAuthor(Long id) {
+        getAuthorById(id);
+        return bookRepo.findByAuthorsId(id);
+    }
+
+    /**
+     * Vincula o livro aos autores do seu campo author, criando os que ainda
+     * não existem, e ajusta as contagens apenas dos autores que mudaram.
+     * Deve ser chamado dentro da transação que grava o livro.
+     */
+    public void syncAuthors(Book book) {
+        Set<Author> target = resolve(book.getAuthor());
+        Set<Author> current = book.getAuthors();
+
+        for (Author author : current) {
+            if (!target.contains(author)) {
+                authorRepo.adjustBookCount(author.getId(), -1);
+            }
+        }
+        for (Author author : target) {
+            if (!current.contains(author)) {
+                authorRepo.adjustBookCount(author.getId(), 1);
+            }
+        }
+        current.retainAll(target);
+        current.addAll(target);
+        book.setAuthorsSynced(true);
+    }
+
+    // Remove os vínculos do livro (antes de excluí-lo)
+    public void unlinkAuthors(Book book) {
+        book.getAuthors().forEach(author -> authorRepo.adjustBookCount(author.getId(), -1));
+        book.getAuthors().clear();
+    }
+
+    // Converte o texto livre em autores, deduplicando pela chave normalizada
+    private Set<Author> resolve(String authorField) {
+        if (authorField == null) {
+            return new HashSet<>();
+        }
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        for (String name : SEPARATORS.split(authorField)) {
+            String key = Author.normalize(name);
+            if (!key.isEmpty()) {
+                namesByKey.putIfAbsent(key, name.trim());
+            }
+        }
+        if (namesByKey.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Author> authors = new HashSet<>(authorRepo.findByNameKeyIn(namesByKey.keySet()));
+        authors.forEach(author -> namesByKey.remove(author.getNameKey()));
+        if (!namesByKey.isEmpty()) {
+            authors.addAll(create(namesByKey));
+        }
+        return authors;
+    }
+
+    /**
+     * Cria os autores na transação do livro, na mesma conexão: sem uma
+     * segunda conexão por gravação, escritas simultâneas não esgotam o pool.
+     * Chave já existente (inclusive criada agora por outra requisição) não é
+     * erro; a releitura com bloqueio compartilhado enxerga o autor vencedor.
+     * As chaves vão em ordem fixa para que duas gravações não se bloqueiem
+     * mutuamente.
+     */
+    private List<Author> create(Map<String, String> namesByKey) {
+        new TreeMap<>(namesByKey).forEach((key, name) -> authorRepo.insertIfAbsent(name, key));
+        return authorRepo.findByNameKeyInForShare(namesByKey.keySet());
+    }
+}
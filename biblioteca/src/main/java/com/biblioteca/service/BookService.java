@@ -0,0 +1,223 @@
+package com.biblioteca.service;
+
+
+import com.biblioteca.cache.BookCache;
+import com.biblioteca.cache.HoldQueue;
+import com.biblioteca.dto.BookSearch;
+import com.biblioteca.dto.BookSearchResult;
+import com.biblioteca.dto.RelatedBook;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.projection.FieldSet;
+import com.biblioteca.projection.ProjectionExecutor;
+import com.biblioteca.projection.ProjectionQuery;
+import com.biblioteca.recommendation.CoBorrowIndex;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.HoldRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class BookService {
+
+    // Campos aceitos em ?fields=
+    public static final FieldSet<Book> FIELDS = FieldSet.of(Book.class)
+            .field("id", Book::getId)
+            .field("title", Book::getTitle)
+            .field("author", Book::getAuthor)
+            .field("stock", Book::getStock);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ProjectionExecutor projections;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookCache bookCache;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private CoBorrowIndex coBorrowIndex;
+
+    @Autowired
+    private HoldRepository holdRepo;
+
+    @Autowired
+    private HoldQueue holdQueue;
+
+    @Autowired
+    private LoanService loanService;
+
+    // Criar novo livro
+    @Transactional
+    public Book createBook(Book book) {
+        authorService.syncAuthors(book);
+        Book saved = bookRepository.save(book);
+        changeFeed.bookChanged(saved, ChangeEvent.Operation.CREATED);
+        return saved;
+    }
+
+    // Listar todos os livros
+    public List<Book> getAllBooks() {
+        return bookRepository.findAll();
+    }
+
+    // Listar todos os livros, apenas com os campos pedidos
+    public List<Map<String, Object>> getAllBooks(String fields) {
+        return projections.execute(ProjectionQuery.all(FIELDS, FIELDS.select(fields)));
+    }
+
+    // Buscar livro por ID (somente leitura, servido pelo cache quando possível)
+    public Book getBookById(Long id) {
+        return bookCache.get(id).orElseGet(() -> {
+            Book book = loadBook(id);
+            bookCache.put(book);
+            return book;
+        });
+    }
+
+    // Carregar livro do banco, para alteração
+    private Book loadBook(Long id) {
+        return bookRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
+    }
+
+    // Buscar livro por ID, apenas com os campos pedidos
+    public Map<String, Object> getBookById(Long id, String fields) {
+        ProjectionQuery.Filter byId = new ProjectionQuery.Filter("id", ProjectionQuery.Operator.EQUALS, id);
+        return projections.execute(ProjectionQuery.where(FIELDS, FIELDS.select(fields), byId))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
+    }
+
+    // Atualizar livro (bloqueado, como nos empréstimos); estoque maior atende a fila de reservas na mesma transação
+    @Transactional
+    public Book updateBook(Long id, Book updatedBook) {
+        Book existing = bookRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
+        int previousStock = existing.getStock();
+        existing.setTitle(updatedBook.getTitle());
+        existing.setAuthor(updatedBook.getAuthor());
+        existing.setStock(updatedBook.getStock());
+        authorService.syncAuthors(existing);
+        bookCache.evict(id);
+        Book saved = bookRepository.save(existing);
+        if (saved.getStock() > previousStock) {
+            loanService.allocateHolds(saved);
+        }
+        changeFeed.bookChanged(saved, ChangeEvent.Operation.UPDATED);
+        return saved;
+    }
+
+    // Deletar livro
+    @Transactional
+    public void deleteBook(Long id) {
+        Book book = loadBook(id);
+        authorService.unlinkAuthors(book);
+        holdRepo.deleteByBookId(id);
+        holdQueue.bookRemoved(id);
+        bookRepository.delete(book);
+        bookCache.evict(id);
+        changeFeed.deleted(ChangeEvent.EntityType.BOOK, id);
+        coBorrowIndex.bookDeleted(id);
+    }
+
+    // Buscar por título
+    public List<Book> searchByTitle(String title) {
+        return bookRepository.findByTitleContainingIgnoreCase(title);
+    }
+
+    // Buscar por autor
+    public List<Book> searchByAuthor(String author) {
+        return bookRepository.findByAuthorContainingIgnoreCase(author);
+    }
+
+    /**
+     * Busca combinada por título, autor e estoque, em uma única consulta.
+     * Lê uma linha além do limite para saber se há próxima página, sem COUNT.
+     */
+    public BookSearchResult search(BookSearch search) {
+        List<Book> found = bookRepository.search(search, search.limit() + 1);
+        boolean hasMore = found.size() > search.limit();
+        List<Book> page = hasMore ? found.subList(0, search.limit()) : found;
+        String nextCursor = hasMore
+                ? search.encode(BookSearch.Cursor.of(search.sort(), page.get(page.size() - 1)))
+                : null;
+        return new BookSearchResult(List.copyOf(page), hasMore, nextCursor);
+    }
+
+    // Buscar por título, apenas com os campos pedidos
+    public List<Map<String, Object>> searchByTitle(String title, String fields) {
+        ProjectionQuery.Filter filter = new ProjectionQuery.Filter("title", ProjectionQuery.Operator.CONTAINS_IGNORE_CASE, title);
+        return projections.execute(ProjectionQuery.where(FIELDS, FIELDS.select(fields), filter));
+    }
+
+    // Buscar por autor, apenas com os campos pedidos
+    public List<Map<String, Object>> searchByAuthor(String author, String fields) {
+        ProjectionQuery.Filter filter = new ProjectionQuery.Filter("author", ProjectionQuery.Operator.CONTAINS_IGNORE_CASE, author);
+        return projections.execute(ProjectionQuery.where(FIELDS, FIELDS.select(fields), filter));
+    }
+
+    // Verificar disponibilidade
+    public boolean isBookAvailable(Long id) {
+        Book book = getBookById(id);
+        return book.getStock() > 0;
+    }
+
+    /**
+     * Livros que os usuários deste livro também pegaram, do modelo em
+     * memória; os dados dos livros vêm do cache. Vizinhos já excluídos
+     * são ignorados.
+     */
+    public List<RelatedBook> getRelatedBooks(Long id, int limit) {
+        if (limit < 1 || limit > coBorrowIndex.maxNeighbors()) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + coBorrowIndex.maxNeighbors());
+        }
+        getBookById(id);
+        List<CoBorrowIndex.Neighbor> neighbors = coBorrowIndex.related(id, coBorrowIndex.maxNeighbors());
+        Map<Long, Book> books = getBooksByIds(neighbors.stream().map(CoBorrowIndex.Neighbor::bookId).toList());
+        List<RelatedBook> related = new ArrayList<>(limit);
+        for (CoBorrowIndex.Neighbor neighbor : neighbors) {
+            // Vizinhos excluídos depois de contados não aparecem
+            Book book = books.get(neighbor.bookId());
+            if (book == null) {
+                continue;
+            }
+            related.add(RelatedBook.of(book, neighbor.count()));
+            if (related.size() == limit) {
+                break;
+            }
+        }
+        return related;
+    }
+
+    // Livros por ID, do cache quando possível; os que faltam vêm do banco em uma única consulta
+    private Map<Long, Book> getBooksByIds(List<Long> ids) {
+        Map<Long, Book> books = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long bookId : ids) {
+            bookCache.get(bookId).ifPresentOrElse(book -> books.put(bookId, book), () -> missing.add(bookId));
+        }
+        if (!missing.isEmpty()) {
+            for (Book book : bookRepository.findAllById(missing)) {
+                bookCache.put(book);
+                books.put(book.getId(), book);
+            }
+        }
+        return books;
+    }
+}
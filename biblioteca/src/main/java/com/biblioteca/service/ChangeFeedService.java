@@ -0,0 +1,207 @@
+package com.biblioteca.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.dto.ChangeFeedPage;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.model.ChangeEvent.EntityType;
+import com.biblioteca.model.ChangeEvent.Operation;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.ChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Feed de alterações para sincronização de sistemas externos (busca, cache
+ * offline, relatórios). Os serviços registram um evento na mesma transação
+ * da alteração (caixa de saída transacional); os consumidores leem apenas
+ * o que mudou desde o último cursor.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private ChangeEventRepository changeRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /*
+     * IDs são atribuídos no INSERT mas ficam visíveis no COMMIT. Um evento só
+     * é entregue quando a transação que o gravou certamente terminou: o atraso
+     * padrão é o teto de qualquer transação (spring.transaction.default-timeout,
+     * que vale também para jobs e migrações) mais a folga entre os relógios
+     * das instâncias que gravam occurredAt. Um valor explícito o substitui.
+     */
+    @Value("${biblioteca.changes.visibility-delay-ms:-1}")
+    private long visibilityDelayMs;
+
+    @Value("${spring.transaction.default-timeout:30s}")
+    private Duration transactionTimeout;
+
+    @Value("${biblioteca.changes.clock-skew-ms:2000}")
+    private long clockSkewMs;
+
+    private Duration visibilityDelay;
+
+    @Value("${biblioteca.changes.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${biblioteca.changes.cleanup-batch-size:1000}")
+    private int cleanupBatchSize;
+
+    @PostConstruct
+    void init() {
+        visibilityDelay = visibilityDelayMs >= 0 ? Duration.ofMillis(visibilityDelayMs)
+                : transactionTimeout.plusMillis(clockSkewMs);
+        log.info("Feed de alterações: atrasoVisibilidadeMs={}", visibilityDelay.toMillis());
+    }
+
+    Duration visibilityDelay() {
+        return visibilityDelay;
+    }
+
+    @Transactional
+    public void bookChanged(Book book, Operation operation) {
+        record(EntityType.BOOK, book.getId(), operation, BookService.FIELDS.toMap(book));
+    }
+
+    @Transactional
+    public void userChanged(User user, Operation operation) {
+        record(EntityType.USER, user.getId(), operation, UserService.FIELDS.toMap(user));
+    }
+
+    @Transactional
+    public void loanChanged(Loan loan, Operation operation) {
+        record(EntityType.LOAN, loan.getId(), operation, LoanService.FIELDS.toMap(loan));
+    }
+
+    // Devolução feita por instrução em lote, sem atualizar a entidade carregada
+    @Transactional
+    public void loanReturned(Loan loan, LocalDate returnDate) {
+        Map<String, Object> data = LoanService.FIELDS.toMap(loan);
+        data.put("returnDate", returnDate);
+        record(EntityType.LOAN, loan.getId(), Operation.UPDATED, data);
+    }
+
+    @Transactional
+    public void deleted(EntityType type, Long id) {
+        record(type, id, Operation.DELETED, null);
+    }
+
+    /**
+     * Alterações após o cursor {@code since}. Dentro da página, cada entidade
+     * aparece uma única vez, com o estado mais recente: várias atualizações
+     * viram uma, criação seguida de atualização continua como criação, e
+     * criação seguida de exclusão some da resposta. O {@code nextCursor}
+     * avança sobre todos os eventos lidos, mesmo os compactados, mas nunca
+     * além de um evento ainda não visível.
+     *
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     * @throws IllegalStateException se o cursor for anterior ao período retido
+     */
+    public ChangeFeedPage getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since não pode ser negativo");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        Long oldest = changeRepo.findMinId();
+        if (since > 0 && oldest != null && since < oldest - 1) {
+            throw new IllegalStateException("Cursor " + since + " anterior ao período retido; refaça a carga completa");
+        }
+
+        // A página para no primeiro ID ainda não visível: um ID menor pode ter occurredAt
+        // posterior ao de um maior, e o cursor não pode passar por ele antes da hora
+        LocalDateTime visibleUntil = LocalDateTime.now().minus(visibilityDelay);
+        List<ChangeEvent> read = changeRepo.findAfter(since, PageRequest.of(0, limit + 1));
+        int visible = 0;
+        while (visible < read.size() && !read.get(visible).getOccurredAt().isAfter(visibleUntil)) {
+            visible++;
+        }
+        boolean hasMore = visible > limit;
+        List<ChangeEvent> page = read.subList(0, Math.min(visible, limit));
+        long nextCursor = page.isEmpty() ? since : page.get(page.size() - 1).getId();
+        return new ChangeFeedPage(compact(page), nextCursor, hasMore);
+    }
+
+    // Mantém um evento por entidade, na posição da sua última alteração
+    private static List<ChangeFeedPage.Event> compact(List<ChangeEvent> events) {
+        Map<String, ChangeEvent> first = new LinkedHashMap<>();
+        Map<String, ChangeEvent> last = new LinkedHashMap<>();
+        for (ChangeEvent event : events) {
+            String key = event.getEntityType() + ":" + event.getEntityId();
+            first.putIfAbsent(key, event);
+            last.remove(key);
+            last.put(key, event);
+        }
+        List<ChangeFeedPage.Event> compacted = new ArrayList<>(last.size());
+        last.forEach((key, latest) -> {
+            boolean createdHere = first.get(key).getOperation() == Operation.CREATED;
+            if (createdHere && latest.getOperation() == Operation.DELETED) {
+                return;
+            }
+            compacted.add(ChangeFeedPage.Event.of(latest, createdHere ? Operation.CREATED : latest.getOperation()));
+        });
+        return compacted;
+    }
+
+    // Remove eventos além da retenção, em lotes com transações curtas
+    @Scheduled(cron = "${biblioteca.changes.cleanup-cron:0 30 3 * * *}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int removed;
+        do {
+            removed = transactionTemplate.execute(status -> {
+                List<Long> ids = changeRepo.findIdsOccurredBefore(cutoff, PageRequest.of(0, cleanupBatchSize));
+                changeRepo.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            total += removed;
+        } while (removed == cleanupBatchSize);
+
+        if (total > 0) {
+            log.info("Limpeza do feed de alterações: eventos={} anterioresA={}", total, cutoff);
+        }
+        return total;
+    }
+
+    private void record(EntityType type, Long id, Operation operation, Map<String, Object> data) {
+        try {
+            String json = data == null ? null : objectMapper.writeValueAsString(data);
+            changeRepo.save(new ChangeEvent(type, id, operation, LocalDateTime.now(), json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar alteração de " + type + " " + id, e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.biblioteca.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.util.BloomFilter;
+
+/**
+ * Responde "este email está disponível?" a partir de um filtro de Bloom em
+ * memória com os emails cadastrados. Só consulta o banco quando o filtro
+ * indica que o email talvez exista.
+ *
+ * A resposta é apenas indicativa para o formulário de cadastro: o filtro é
+ * reconstruído periodicamente para refletir exclusões e cadastros feitos em
+ * outras instâncias, e a garantia de unicidade continua sendo a restrição
+ * unique da coluna {@code email}.
+ */
+@Service
+public class EmailAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailAvailabilityService.class);
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Value("${biblioteca.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Cadastros confirmados durante uma reconstrução (protegidos por lock)
+    private final Object lock = new Object();
+    private List<String> registeredDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${biblioteca.email-filter.rebuild-interval-ms:600000}",
+            initialDelayString = "${biblioteca.email-filter.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        // Folga de 2x para os cadastros até a próxima reconstrução
+        BloomFilter next = new BloomFilter(userRepo.count() * 2 + 1000, falsePositiveRate);
+        synchronized (lock) {
+            registeredDuringRebuild = new ArrayList<>();
+        }
+        try {
+            userRepo.findAllEmails().forEach(email -> next.put(key(email)));
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                registeredDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            // Cadastros confirmados depois da leitura do banco podem não estar na varredura
+            registeredDuringRebuild.forEach(next::put);
+            registeredDuringRebuild = null;
+            filter = next;
+        }
+        log.debug("Filtro de emails reconstruído");
+    }
+
+    public boolean isAvailable(String email) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key(email))) {
+            return true;
+        }
+        return !userRepo.existsByEmail(email);
+    }
+
+    // Registra um email recém-cadastrado, após o commit (um cadastro desfeito não entra no filtro)
+    public void register(String email) {
+        String key = key(email);
+        afterCommit(() -> {
+            synchronized (lock) {
+                if (filter != null) {
+                    filter.put(key);
+                }
+                if (registeredDuringRebuild != null) {
+                    registeredDuringRebuild.add(key);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Mesma normalização da collation case-insensitive do MySQL
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+package com.biblioteca.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.cache.HoldQueue;
+import com.biblioteca.dto.HoldPosition;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Hold;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.HoldRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Fila de reservas de livros sem estoque. Entrar na fila é idempotente por
+ * usuário: repetir o pedido devolve a mesma reserva, respondida da fila em
+ * memória. A alocação na devolução fica no {@link LoanService}.
+ */
+@Service
+public class HoldService {
+
+    @Autowired
+    private HoldRepository holdRepo;
+
+    @Autowired
+    private HoldQueue holdQueue;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public record Placement(HoldPosition hold, boolean created) {
+    }
+
+    /**
+     * Coloca o usuário na fila do livro, ou devolve a reserva que ele já tem.
+     * Só é aceita quando o livro está sem estoque: todo aumento de estoque
+     * atende a fila na mesma transação, então livro com estoque não tem fila.
+     * A reserva é gravada com o livro bloqueado, como nas devoluções, para que
+     * uma devolução simultânea ou a veja ou seja vista como estoque.
+     *
+     * @throws EntityNotFoundException se o livro ou o usuário não existir
+     * @throws IllegalStateException se o livro estiver disponível ou já emprestado ao usuário
+     */
+    public Placement placeHold(Long bookId, Long userId) {
+        Optional<HoldQueue.Position> queued = holdQueue.position(bookId, userId);
+        if (queued.isPresent()) {
+            return new Placement(HoldPosition.of(bookId, userId, queued.get()), false);
+        }
+
+        Book book = bookRepo.findById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado"));
+        if (book.getStock() > 0) {
+            throw new IllegalStateException("Livro disponível; faça o empréstimo diretamente.");
+        }
+        User user = userRepo.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        if (loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(userId, bookId)) {
+            throw new IllegalStateException("Este livro já está emprestado a este utilizador.");
+        }
+
+        // Reserva feita por outra instância ainda não refletida na fila em memória
+        Optional<Hold> existing = holdRepo.findWaiting(userId, bookId);
+        if (existing.isPresent()) {
+            return new Placement(enqueued(existing.get().getId(), bookId, userId), false);
+        }
+        // Pedidos simultâneos do mesmo usuário esbarram na restrição unique; vale a reserva que entrou
+        try {
+            Hold hold = transactionTemplate.execute(status -> {
+                Book locked = bookRepo.findByIdForUpdate(bookId)
+                        .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado"));
+                if (locked.getStock() > 0) {
+                    throw new IllegalStateException("Livro disponível; faça o empréstimo diretamente.");
+                }
+                return holdRepo.saveAndFlush(new Hold(user, locked, LocalDateTime.now()));
+            });
+            return new Placement(enqueued(hold.getId(), bookId, userId), true);
+        } catch (DataIntegrityViolationException e) {
+            Hold winner = holdRepo.findWaiting(userId, bookId)
+                    .orElseThrow(() -> new IllegalStateException("Não foi possível registrar a reserva"));
+            return new Placement(enqueued(winner.getId(), bookId, userId), false);
+        }
+    }
+
+    // Posição do usuário na fila, respondida da memória
+    public HoldPosition getPosition(Long bookId, Long userId) {
+        return holdQueue.position(bookId, userId)
+                .map(position -> HoldPosition.of(bookId, userId, position))
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não está na fila deste livro"));
+    }
+
+    private HoldPosition enqueued(Long holdId, Long bookId, Long userId) {
+        holdQueue.added(holdId, bookId, userId);
+        return getPosition(bookId, userId);
+    }
+}
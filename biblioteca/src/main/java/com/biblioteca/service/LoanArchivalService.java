@@ -0,0 +1,98 @@
+package com.biblioteca.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.model.ArchivedLoan;
+import com.biblioteca.model.Loan;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.LoanRepository;
+
+/**
+ * Move empréstimos devolvidos há mais de {@code retention-days} dias da
+ * tabela {@code loans} para {@code loans_archive}, mantendo a tabela quente
+ * proporcional aos empréstimos em circulação.
+ * <p>
+ * O arquivamento não gera eventos no feed de alterações: o empréstimo não
+ * foi excluído, continua no histórico do usuário, e a devolução já foi
+ * publicada. Consumidores que espelham {@code /loans} podem descartar
+ * empréstimos devolvidos há mais de {@code retention-days} dias.
+ */
+@Service
+public class LoanArchivalService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanArchivalService.class);
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private ArchivedLoanRepository archiveRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${biblioteca.archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${biblioteca.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${biblioteca.archive.pause-ms:50}")
+    private long pauseMs;
+
+    /**
+     * Arquiva em lotes, cada um em sua própria transação curta, para não
+     * manter bloqueios na tabela {@code loans} durante toda a execução.
+     */
+    @Scheduled(cron = "${biblioteca.archive.cron:0 0 3 * * *}")
+    public int archiveReturnedLoans() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+            pause(moved);
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("Arquivamento concluído: emprestimos={} devolvidosAntesDe={}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<Long> ids = loanRepo.findIdsReturnedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Loan> loans = loanRepo.findAllById(ids);
+        archiveRepo.saveAll(loans.stream().map(loan -> new ArchivedLoan(loan, now)).toList());
+        loanRepo.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    // Pausa entre lotes para dar vez às transações da aplicação
+    private void pause(int moved) {
+        if (moved == 0 || pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.biblioteca.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.cache.BookCache;
+import com.biblioteca.cache.HoldQueue;
+import com.biblioteca.dto.BatchReturnResult;
+import com.biblioteca.dto.LoanHistoryItem;
+import com.biblioteca.model.ArchivedLoan;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.model.Hold;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.projection.FieldSet;
+import com.biblioteca.projection.ProjectionExecutor;
+import com.biblioteca.projection.ProjectionQuery;
+import com.biblioteca.recommendation.CoBorrowIndex;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.HoldRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@Service
+public class LoanService {
+
+    // Campos aceitos em ?fields=; usuário e livro são expostos apenas pelo ID
+    public static final FieldSet<Loan> FIELDS = FieldSet.of(Loan.class)
+            .field("id", Loan::getId)
+            .field("userId", "user.id", loan -> loan.getUser().getId())
+            .field("bookId", "book.id", loan -> loan.getBook().getId())
+            .field("loanDate", Loan::getLoanDate)
+            .field("returnDate", Loan::getReturnDate);
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private ProjectionExecutor projections;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ArchivedLoanRepository archiveRepo;
+
+    @Autowired
+    private BookCache bookCache;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private CoBorrowIndex coBorrowIndex;
+
+    @Autowired
+    private HoldRepository holdRepo;
+
+    @Autowired
+    private HoldQueue holdQueue;
+
+    // Listar todos os empréstimos, apenas com os campos pedidos
+    public List<Map<String, Object>> getAllLoans(String fields) {
+        return projections.execute(ProjectionQuery.all(FIELDS, FIELDS.select(fields)));
+    }
+
+    // Buscar empréstimo por ID, apenas com os campos pedidos
+    public Map<String, Object> getLoanById(Long id, String fields) {
+        ProjectionQuery.Filter byId = new ProjectionQuery.Filter("id", ProjectionQuery.Operator.EQUALS, id);
+        return projections.execute(ProjectionQuery.where(FIELDS, FIELDS.select(fields), byId))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Empréstimo não encontrado."));
+    }
+
+    /**
+     * Cria um novo empréstimo de livro para um utilizador.
+     * Verifica se o livro está em stock e se já não está emprestado ao mesmo utilizador.
+     * A decisão vem só do estoque lido com o livro bloqueado: todo aumento de
+     * estoque atende a fila na mesma transação, então livro com estoque não
+     * tem fila. A fila em memória, que pode estar defasada, só escolhe a
+     * mensagem da recusa.
+     */
+    @Transactional
+    public Loan createLoan(Long userId, Long bookId) {
+        // O livro vem primeiro: a recusa mais comum (sem estoque) custa uma consulta só.
+        // O bloqueio impede que dois empréstimos simultâneos levem o mesmo exemplar
+        Book book = bookRepo.findByIdForUpdate(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado"));
+
+        if (book.getStock() <= 0) {
+            if (holdQueue.length(bookId) > 0) {
+                throw new IllegalStateException("Livro com fila de reservas; entre na fila em POST /books/" + bookId + "/holds");
+            }
+            throw new IllegalStateException("Livro fora de estoque");
+        }
+
+        User user = userRepo.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+
+        // Verifica se o mesmo utilizador já tem este livro emprestado e não devolvido
+        boolean alreadyBorrowed = loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(userId, bookId);
+        if (alreadyBorrowed) {
+            throw new IllegalStateException("Este livro já está emprestado a este utilizador.");
+        }
+
+        // Atualiza o stock do livro
+        book.setStock(book.getStock() - 1);
+        bookRepo.save(book);
+        bookCache.evict(bookId);
+
+        // Cria e salva o empréstimo
+        Loan loan = new Loan();
+        loan.setUser(user);
+        loan.setBook(book);
+        loan.setLoanDate(LocalDate.now());
+        loan.setReturnDate(null);
+
+        Loan saved = loanRepo.save(loan);
+        changeFeed.bookChanged(book, ChangeEvent.Operation.UPDATED);
+        changeFeed.loanChanged(saved, ChangeEvent.Operation.CREATED);
+        coBorrowIndex.loanCreated(saved);
+        return saved;
+    }
+
+    /**
+     * Realiza a devolução de um livro emprestado.
+     * Atualiza o stock do livro e define a data de devolução.
+     */
+    @Transactional
+    public Loan returnLoan(Long loanId) {
+        // Bloqueia empréstimo e livro, na mesma ordem da devolução em lote
+        Loan loan = loanRepo.findAllByIdForUpdate(List.of(loanId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Empréstimo não encontrado"));
+
+        if (loan.getReturnDate() != null) {
+            throw new IllegalStateException("Este empréstimo já foi devolvido.");
+        }
+
+        // Atualiza o stock do livro devolvido
+        Book book = bookRepo.findByIdForUpdate(loan.getBook().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado"));
+        book.setStock(book.getStock() + 1);
+        bookRepo.save(book);
+        bookCache.evict(book.getId());
+
+        // Registra a data de devolução
+        loan.setReturnDate(LocalDate.now());
+
+        Loan saved = loanRepo.save(loan);
+        allocateHolds(book);
+        changeFeed.bookChanged(book, ChangeEvent.Operation.UPDATED);
+        changeFeed.loanChanged(saved, ChangeEvent.Operation.UPDATED);
+        return saved;
+    }
+
+    /**
+     * Devolve vários empréstimos de uma vez (ex.: caixa de devolução).
+     * Os empréstimos são marcados com uma única instrução UPDATE e o stock
+     * é incrementado uma vez por livro, somando as devoluções do mesmo título.
+     */
+    @Transactional
+    public BatchReturnResult returnLoans(List<Long> loanIds) {
+        Set<Long> requested = new LinkedHashSet<>(loanIds);
+        Map<Long, Loan> loans = loanRepo.findAllByIdForUpdate(requested).stream()
+                .collect(Collectors.toMap(Loan::getId, Function.identity()));
+
+        // Empréstimos ausentes da tabela ativa podem já ter sido arquivados
+        Set<Long> missing = new HashSet<>(requested);
+        missing.removeAll(loans.keySet());
+        Set<Long> archived = missing.isEmpty() ? Set.of()
+                : archiveRepo.findAllById(missing).stream().map(ArchivedLoan::getId).collect(Collectors.toSet());
+
+        List<BatchReturnResult.Item> results = new ArrayList<>();
+        List<Long> toReturn = new ArrayList<>();
+        Map<Long, Integer> returnsPerBook = new TreeMap<>();
+        for (Long id : requested) {
+            Loan loan = loans.get(id);
+            BatchReturnResult.Status status;
+            if (loan == null) {
+                status = archived.contains(id) ? BatchReturnResult.Status.ALREADY_RETURNED
+                        : BatchReturnResult.Status.NOT_FOUND;
+            } else if (loan.getReturnDate() != null) {
+                status = BatchReturnResult.Status.ALREADY_RETURNED;
+            } else {
+                status = BatchReturnResult.Status.RETURNED;
+                toReturn.add(id);
+                returnsPerBook.merge(loan.getBook().getId(), 1, Integer::sum);
+            }
+            results.add(new BatchReturnResult.Item(id, status));
+        }
+
+        if (!toReturn.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            // Os empréstimos estão bloqueados e ativos: qualquer diferença indica estado inconsistente
+            int marked = loanRepo.markReturned(toReturn, today);
+            if (marked != toReturn.size()) {
+                throw new IllegalStateException("Devolução em lote não aplicada: " + marked + " de "
+                        + toReturn.size() + " empréstimos atualizados");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            returnsPerBook.forEach((bookId, amount) -> bookRepo.incrementStock(bookId, amount, now));
+            returnsPerBook.keySet().forEach(bookCache::evict);
+
+            // As instruções em lote não atualizam as entidades carregadas; o feed usa o estado gravado
+            toReturn.forEach(id -> changeFeed.loanReturned(loans.get(id), today));
+            for (Book book : bookRepo.findAllById(returnsPerBook.keySet())) {
+                allocateHolds(book);
+                changeFeed.bookChanged(book, ChangeEvent.Operation.UPDATED);
+            }
+        }
+        return new BatchReturnResult(toReturn.size(), results);
+    }
+
+    // Excluir empréstimo; a exclusão entra no feed de alterações na mesma transação
+    @Transactional
+    public void deleteLoan(Long loanId) {
+        Loan loan = loanRepo.findById(loanId)
+                .orElseThrow(() -> new EntityNotFoundException("Empréstimo não encontrado"));
+        loanRepo.delete(loan);
+        changeFeed.deleted(ChangeEvent.EntityType.LOAN, loanId);
+    }
+
+    /**
+     * Entrega os exemplares disponíveis às reservas em espera, em ordem de
+     * chegada, criando os empréstimos na transação que aumentou o estoque
+     * (devolução, edição do livro). Deve ser chamado com o livro bloqueado
+     * nessa transação; as reservas também são bloqueadas, para que
+     * devoluções simultâneas não atendam a mesma.
+     */
+    public void allocateHolds(Book book) {
+        while (book.getStock() > 0) {
+            List<Hold> next = holdRepo.findNextWaitingForUpdate(book.getId(), PageRequest.of(0, 1));
+            if (next.isEmpty()) {
+                break;
+            }
+            Hold hold = next.get(0);
+            Long userId = hold.getUser().getId();
+            holdQueue.removed(book.getId(), userId);
+
+            // Não deveria ocorrer (a reserva exige não ter o livro), mas não dá dois exemplares
+            if (loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(userId, book.getId())) {
+                hold.setStatus(Hold.Status.CANCELLED);
+                holdRepo.save(hold);
+                continue;
+            }
+
+            book.setStock(book.getStock() - 1);
+            Loan loan = loanRepo.save(new Loan(hold.getUser(), book, LocalDate.now(), null));
+            hold.setStatus(Hold.Status.FULFILLED);
+            hold.setLoanId(loan.getId());
+            holdRepo.save(hold);
+            changeFeed.loanChanged(loan, ChangeEvent.Operation.CREATED);
+            coBorrowIndex.loanCreated(loan);
+        }
+        bookRepo.save(book);
+    }
+
+    /**
+     * Retorna o histórico completo de empréstimos de um utilizador,
+     * unindo a tabela ativa e o arquivo de empréstimos antigos.
+     */
+    public List<LoanHistoryItem> getLoanHistory(Long userId) {
+        if (!userRepo.existsById(userId)) {
+            throw new EntityNotFoundException("Usuário não encontrado");
+        }
+        return Stream.concat(
+                        loanRepo.findByUserId(userId).stream().map(LoanHistoryItem::of),
+                        archiveRepo.findByUserId(userId).stream().map(LoanHistoryItem::of))
+                .sorted(Comparator.comparing(LoanHistoryItem::loanDate).reversed()
+                        .thenComparing(LoanHistoryItem::loanId, Comparator.reverseOrder()))
+                .toList();
+    }
+}
@@ -0,0 +1,166 @@
+package com.biblioteca.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.cache.HoldQueue;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.projection.FieldSet;
+import com.biblioteca.projection.ProjectionExecutor;
+import com.biblioteca.projection.ProjectionQuery;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.HoldRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@Service
+public class UserService {
+
+    // Campos aceitos em ?fields=
+    public static final FieldSet<User> FIELDS = FieldSet.of(User.class)
+            .field("id", User::getId)
+            .field("name", User::getName)
+            .field("email", User::getEmail);
+
+    // Restrição unique de User.email
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    // Chave duplicada: código do MySQL e SQLState padrão (H2, PostgreSQL)
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+    private static final String DUPLICATE_KEY_STATE = "23505";
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ProjectionExecutor projections;
+
+    @Autowired
+    private ArchivedLoanRepository archiveRepo;
+
+    @Autowired
+    private EmailAvailabilityService emailAvailability;
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private HoldRepository holdRepo;
+
+    @Autowired
+    private HoldQueue holdQueue;
+
+    public List<User> getAllUsers() {
+        return userRepo.findAll();
+    }
+
+    public List<Map<String, Object>> getAllUsers(String fields) {
+        return projections.execute(ProjectionQuery.all(FIELDS, FIELDS.select(fields)));
+    }
+
+    public User getUserById(Long id) {
+        return userRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário com ID " + id + " não encontrado"));
+    }
+
+    public Map<String, Object> getUserById(Long id, String fields) {
+        ProjectionQuery.Filter byId = new ProjectionQuery.Filter("id", ProjectionQuery.Operator.EQUALS, id);
+        return projections.execute(ProjectionQuery.where(FIELDS, FIELDS.select(fields), byId))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Usuário com ID " + id + " não encontrado"));
+    }
+
+    // A unicidade do email é garantida pela restrição unique, sem consulta prévia
+    @Transactional
+    public User createUser(User user) {
+        User saved = saveUnique(user);
+        changeFeed.userChanged(saved, ChangeEvent.Operation.CREATED);
+        emailAvailability.register(saved.getEmail());
+        return saved;
+    }
+
+    @Transactional
+    public User updateUser(Long id, User updatedUser) {
+        User existingUser = userRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário com ID " + id + " não encontrado"));
+        
+        existingUser.setName(updatedUser.getName());
+        existingUser.setEmail(updatedUser.getEmail());
+
+        User saved = saveUnique(existingUser);
+        changeFeed.userChanged(saved, ChangeEvent.Operation.UPDATED);
+        emailAvailability.register(saved.getEmail());
+        return saved;
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return emailAvailability.isAvailable(email);
+    }
+
+    @Transactional
+    public void deleteUser(Long id) {
+        if (!userRepo.existsById(id)) {
+            throw new EntityNotFoundException("Usuário com ID " + id + " não encontrado");
+        }
+        // Os empréstimos ativos são removidos em cascata; os arquivados não têm FK
+        for (Loan loan : loanRepo.findByUserId(id)) {
+            changeFeed.deleted(ChangeEvent.EntityType.LOAN, loan.getId());
+        }
+        archiveRepo.deleteByUserId(id);
+        holdRepo.deleteByUserId(id);
+        holdQueue.userRemoved(id);
+        userRepo.deleteById(id);
+        changeFeed.deleted(ChangeEvent.EntityType.USER, id);
+    }
+
+    // O flush força a violação da restrição unique a ocorrer aqui, e não no commit
+    private User saveUnique(User user) {
+        try {
+            return userRepo.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            throw new IllegalStateException("Já existe um usuário com este email");
+        }
+    }
+
+    /**
+     * Em {@code users}, chave duplicada só pode ser o email: é a única chave
+     * unique além do ID gerado. Não depende do nome da restrição, porque bancos
+     * criados antes de {@code uk_users_email} (com {@code ddl-auto=update})
+     * mantêm o índice de nome gerado de {@code @Column(unique = true)}.
+     */
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+            return true;
+        }
+        for (Throwable t = e; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof SQLException sql
+                    && (sql.getErrorCode() == MYSQL_DUPLICATE_KEY || DUPLICATE_KEY_STATE.equals(sql.getSQLState()))) {
+                return true;
+            }
+        }
+        // Armazenamento em memória: só a mensagem, no formato do MySQL
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.biblioteca.storage.memory;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.ArchivedLoan;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.BorrowRecord;
+
+@Repository
+@Profile("memory")
+public class InMemoryArchivedLoanRepository extends InMemoryRepository<ArchivedLoan> implements ArchivedLoanRepository {
+
+    private final SecondaryIndex<ArchivedLoan, Long> byUser = addIndex(ArchivedLoan::getUserId);
+
+    @Override
+    protected Long idOf(ArchivedLoan loan) {
+        return loan.getId();
+    }
+
+    @Override
+    protected void assignId(ArchivedLoan loan, Long id) {
+        loan.setId(id);
+    }
+
+    @Override
+    protected ArchivedLoan copy(ArchivedLoan loan) {
+        ArchivedLoan copy = new ArchivedLoan();
+        copy.setId(loan.getId());
+        copy.setUserId(loan.getUserId());
+        copy.setBookId(loan.getBookId());
+        copy.setLoanDate(loan.getLoanDate());
+        copy.setReturnDate(loan.getReturnDate());
+        copy.setArchivedAt(loan.getArchivedAt());
+        return copy;
+    }
+
+    // Buscar empréstimos arquivados de um usuário
+    @Override
+    public List<ArchivedLoan> findByUserId(Long userId) {
+        return resolve(byUser.ids(userId));
+    }
+
+    // Próximos usuários com histórico arquivado, em ordem de ID (carga do modelo de livros relacionados)
+    @Override
+    public List<Long> findBorrowerIdsAfter(Long afterUserId, Pageable page) {
+        return rows.values().stream()
+                .map(ArchivedLoan::getUserId)
+                .filter(userId -> userId > afterUserId)
+                .distinct()
+                .sorted()
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    // Histórico arquivado (usuário e livro) de uma faixa de usuários, até um ID de empréstimo
+    @Override
+    public List<BorrowRecord> findBorrowsOfUsers(Long afterUserId, Long lastUserId, Long maxLoanId) {
+        return rows.values().stream()
+                .filter(loan -> loan.getUserId() > afterUserId && loan.getUserId() <= lastUserId
+                        && loan.getId() <= maxLoanId)
+                .map(loan -> new BorrowRecord(loan.getId(), loan.getUserId(), loan.getBookId()))
+                .toList();
+    }
+
+    // Maior ID arquivado (o ID do empréstimo é preservado no arquivamento)
+    @Override
+    public Optional<Long> findMaxId() {
+        return rows.keySet().stream().max(Long::compare);
+    }
+
+    // Empréstimos arquivados de um usuário (usuário e livro)
+    @Override
+    public List<BorrowRecord> findBorrowsByUserId(Long userId) {
+        return findByUserId(userId).stream()
+                .map(loan -> new BorrowRecord(loan.getId(), loan.getUserId(), loan.getBookId()))
+                .toList();
+    }
+
+    // Remover o histórico arquivado de um usuário
+    @Override
+    public synchronized int deleteByUserId(Long userId) {
+        List<ArchivedLoan> loans = findByUserId(userId);
+        deleteAll(loans);
+        return loans.size();
+    }
+}
@@ -0,0 +1,97 @@
+package com.biblioteca.storage.memory;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.repository.AuthorRepository;
+
+@Repository
+@Profile("memory")
+public class InMemoryAuthorRepository extends InMemoryRepository<Author> implements AuthorRepository {
+
+    private final SecondaryIndex<Author, String> byNameKey = addIndex(Author::getNameKey);
+
+    @Override
+    protected Long idOf(Author author) {
+        return author.getId();
+    }
+
+    @Override
+    protected void assignId(Author author, Long id) {
+        author.setId(id);
+    }
+
+    @Override
+    protected Author copy(Author author) {
+        Author copy = new Author();
+        copy.setId(author.getId());
+        copy.setName(author.getName());
+        copy.setNameKey(author.getNameKey());
+        copy.setBookCount(author.getBookCount());
+        return copy;
+    }
+
+    // Equivalente ao índice único em name_key
+    @Override
+    protected void checkConstraints(Author author) {
+        boolean taken = byNameKey.ids(author.getNameKey()).stream()
+                .anyMatch(id -> !id.equals(author.getId()));
+        if (taken) {
+            throw new DataIntegrityViolationException("Duplicate entry '" + author.getNameKey() + "' for key 'uk_authors_name_key'");
+        }
+    }
+
+    // Buscar autores pelas chaves normalizadas (índice único em name_key)
+    @Override
+    public List<Author> findByNameKeyIn(Collection<String> nameKeys) {
+        return resolve(nameKeys.stream().flatMap(key -> byNameKey.ids(key).stream()).toList());
+    }
+
+    // Sem isolamento em memória: a leitura comum já enxerga o que foi confirmado
+    @Override
+    public List<Author> findByNameKeyInForShare(Collection<String> nameKeys) {
+        return findByNameKeyIn(nameKeys);
+    }
+
+    // Equivalente ao INSERT ... ON DUPLICATE KEY UPDATE: o monitor do repositório serializa a verificação
+    @Override
+    public synchronized int insertIfAbsent(String name, String nameKey) {
+        if (!byNameKey.ids(nameKey).isEmpty()) {
+            return 0;
+        }
+        save(new Author(name));
+        return 1;
+    }
+
+    // Autores com livros no acervo, em ordem alfabética, filtrando pelo início da chave
+    @Override
+    public List<Author> browse(String prefix, Pageable page) {
+        return rows.values().stream()
+                .filter(author -> author.getBookCount() > 0 && author.getNameKey().startsWith(prefix))
+                .sorted(Comparator.comparing(Author::getNameKey))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .map(this::copy)
+                .toList();
+    }
+
+    // Ajusta a contagem de livros sem carregar o autor
+    @Override
+    public synchronized int adjustBookCount(Long id, int delta) {
+        Author stored = rows.get(id);
+        if (stored == null) {
+            return 0;
+        }
+        Author author = copy(stored);
+        author.setBookCount(author.getBookCount() + delta);
+        save(author);
+        return 1;
+    }
+}
@@ -0,0 +1,222 @@
+package com.biblioteca.storage.memory;
+
+import java.text.Collator;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.dto.BookSearch;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.BookRepository;
+
+@Repository
+@Profile("memory")
+public class InMemoryBookRepository extends InMemoryRepository<Book> implements BookRepository {
+
+    @Autowired
+    private InMemoryLoanRepository loans;
+
+    @Override
+    protected Long idOf(Book book) {
+        return book.getId();
+    }
+
+    @Override
+    protected void assignId(Book book, Long id) {
+        book.setId(id);
+    }
+
+    @Override
+    protected Book copy(Book book) {
+        Book copy = new Book();
+        copy.setId(book.getId());
+        copy.setTitle(book.getTitle());
+        copy.setAuthor(book.getAuthor());
+        copy.setStock(book.getStock());
+        copy.setAuthors(new HashSet<>(book.getAuthors()));
+        copy.setAuthorsSynced(book.isAuthorsSynced());
+        copy.setUpdatedAt(book.getUpdatedAt());
+        return copy;
+    }
+
+    // Buscar livros contendo parte do título (ignorando maiúsculas/minúsculas)
+    @Override
+    public List<Book> findByTitleContainingIgnoreCase(String title) {
+        return scan()
+                .filter(book -> containsIgnoreCase(book.getTitle(), title))
+                .map(this::copy)
+                .toList();
+    }
+
+    // Buscar livros contendo parte do nome do autor (ignorando maiúsculas/minúsculas)
+    @Override
+    public List<Book> findByAuthorContainingIgnoreCase(String author) {
+        return scan()
+                .filter(book -> containsIgnoreCase(book.getAuthor(), author))
+                .map(this::copy)
+                .toList();
+    }
+
+    // Buscar livros de um autor normalizado (via tabela book_authors)
+    @Override
+    public List<Book> findByAuthorsId(Long authorId) {
+        return scan()
+                .filter(book -> book.getAuthors().stream().anyMatch(author -> author.getId().equals(authorId)))
+                .map(this::copy)
+                .toList();
+    }
+
+    // Livros ainda não vinculados aos autores, após um ID (migração de autores). Um só
+    // processo usa o armazenamento: basta bloquear e reler, sem pular os bloqueados
+    @Override
+    public List<Book> findAuthorsNotSynced(Long afterId, Pageable page) {
+        List<Long> ids = scan()
+                .filter(book -> !book.isAuthorsSynced() && book.getId() > afterId)
+                .limit(page.getPageSize())
+                .map(Book::getId)
+                .toList();
+        ids.forEach(this::lockForUpdate);
+        return resolve(ids).stream()
+                .filter(book -> !book.isAuthorsSynced())
+                .toList();
+    }
+
+    // Busca combinada, com os mesmos critérios e ordem da consulta Criteria
+    @Override
+    public List<Book> search(BookSearch search, int maxResults) {
+        Comparator<Book> order = order(search);
+        Book cursor = null;
+        if (search.after() != null) {
+            cursor = new Book();
+            cursor.setId(search.after().id());
+            cursor.setTitle(search.sort() == BookSearch.SortField.TITLE ? (String) search.after().value() : null);
+            cursor.setAuthor(search.sort() == BookSearch.SortField.AUTHOR ? (String) search.after().value() : null);
+            if (search.sort() == BookSearch.SortField.STOCK) {
+                cursor.setStock((Integer) search.after().value());
+            }
+        }
+        Book after = cursor;
+        return rows.values().stream()
+                .filter(book -> search.title() == null || containsIgnoreCase(book.getTitle(), search.title()))
+                .filter(book -> search.author() == null || containsIgnoreCase(book.getAuthor(), search.author()))
+                .filter(book -> search.inStock() == null || (book.getStock() > 0) == search.inStock())
+                .filter(book -> search.minStock() == null || book.getStock() >= search.minStock())
+                .filter(book -> after == null || order.compare(book, after) > 0)
+                .sorted(order)
+                .limit(maxResults)
+                .map(this::copy)
+                .toList();
+    }
+
+    /**
+     * NULLs primeiro na ordem crescente e por último na decrescente, como no
+     * MySQL. Textos são comparados por um Collator de força primária, que
+     * ignora maiúsculas e acentos como a collation padrão (utf8mb4_0900_ai_ci);
+     * valores iguais para ela são desempatados pelo ID, também como no banco.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Book> order(BookSearch search) {
+        Comparator<Book> byId = Comparator.comparing(Book::getId);
+        if (search.sort() == BookSearch.SortField.ID) {
+            return search.descending() ? byId.reversed() : byId;
+        }
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        Comparator<Object> values = (a, b) -> a instanceof String first && b instanceof String second
+                ? collator.compare(first, second)
+                : ((Comparable) a).compareTo(b);
+        Comparator<Book> order = Comparator.comparing((Book book) -> search.sort().value(book),
+                Comparator.nullsFirst(values)).thenComparing(byId);
+        return search.descending() ? order.reversed() : order;
+    }
+
+    // Página do catálogo após um ID (snapshot do catálogo)
+    @Override
+    public List<Book> findPageAfter(Long afterId, Pageable page) {
+        return scan()
+                .filter(book -> book.getId() > afterId)
+                .limit(page.getPageSize())
+                .map(this::copy)
+                .toList();
+    }
+
+    // Livros alterados após um instante (atualização do cache após o snapshot)
+    @Override
+    public List<Book> findByUpdatedAtAfter(LocalDateTime since) {
+        return scan()
+                .filter(book -> book.getUpdatedAt() != null && book.getUpdatedAt().isAfter(since))
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastUpdatedAt() {
+        return rows.values().stream()
+                .map(Book::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder());
+    }
+
+    // Bloqueia o livro até o fim da transação, como o SELECT ... FOR UPDATE
+    @Override
+    public Optional<Book> findByIdForUpdate(Long id) {
+        lockForUpdate(id);
+        return findById(id);
+    }
+
+    // Todos os IDs, para descartar do cache livros removidos
+    @Override
+    public List<Long> findAllIds() {
+        return List.copyOf(rows.keySet());
+    }
+
+    // Equivalente ao @PrePersist/@PreUpdate de Book
+    @Override
+    public synchronized <S extends Book> S save(S book) {
+        book.setUpdatedAt(LocalDateTime.now());
+        return super.save(book);
+    }
+
+    // Soma uma quantidade ao estoque sem carregar o livro
+    @Override
+    public int incrementStock(Long id, int amount, LocalDateTime now) {
+        // O UPDATE bloqueia a linha; o bloqueio vem antes do monitor do repositório
+        lockForUpdate(id);
+        return addStock(id, amount, now);
+    }
+
+    private synchronized int addStock(Long id, int amount, LocalDateTime now) {
+        Book stored = rows.get(id);
+        if (stored == null) {
+            return 0;
+        }
+        Book book = copy(stored);
+        book.setStock(book.getStock() + amount);
+        book.setUpdatedAt(now);
+        super.save(book);
+        return 1;
+    }
+
+    // Equivalente à chave estrangeira loans.book_id
+    @Override
+    public synchronized void deleteById(Long id) {
+        if (!loans.findByBookId(id).isEmpty()) {
+            throw new DataIntegrityViolationException("Livro com ID " + id + " possui empréstimos registrados");
+        }
+        super.deleteById(id);
+    }
+
+    static boolean containsIgnoreCase(String value, String part) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(part.toLowerCase(Locale.ROOT));
+    }
+}
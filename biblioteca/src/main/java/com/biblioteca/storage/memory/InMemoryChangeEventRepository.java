@@ -0,0 +1,65 @@
+package com.biblioteca.storage.memory;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.repository.ChangeEventRepository;
+
+@Repository
+@Profile("memory")
+public class InMemoryChangeEventRepository extends InMemoryRepository<ChangeEvent> implements ChangeEventRepository {
+
+    @Override
+    protected Long idOf(ChangeEvent event) {
+        return event.getId();
+    }
+
+    @Override
+    protected void assignId(ChangeEvent event, Long id) {
+        event.setId(id);
+    }
+
+    @Override
+    protected ChangeEvent copy(ChangeEvent event) {
+        ChangeEvent copy = new ChangeEvent(event.getEntityType(), event.getEntityId(), event.getOperation(),
+                event.getOccurredAt(), event.getData());
+        copy.setId(event.getId());
+        return copy;
+    }
+
+    // Eventos após o cursor, em ordem de ID; a visibilidade é verificada por quem lê
+    @Override
+    public List<ChangeEvent> findAfter(Long since, Pageable page) {
+        return rows.values().stream()
+                .filter(event -> event.getId() > since)
+                .sorted(Comparator.comparing(ChangeEvent::getId))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .map(this::copy)
+                .toList();
+    }
+
+    // Menor cursor ainda retido (após a limpeza)
+    @Override
+    public Long findMinId() {
+        return rows.keySet().stream().min(Long::compare).orElse(null);
+    }
+
+    // IDs de eventos anteriores à data, em lotes para a limpeza
+    @Override
+    public List<Long> findIdsOccurredBefore(LocalDateTime cutoff, Pageable page) {
+        return rows.values().stream()
+                .filter(event -> event.getOccurredAt().isBefore(cutoff))
+                .map(ChangeEvent::getId)
+                .sorted()
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.biblioteca.storage.memory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.Hold;
+import com.biblioteca.repository.HoldEntry;
+import com.biblioteca.repository.HoldRepository;
+
+@Repository
+@Profile("memory")
+public class InMemoryHoldRepository extends InMemoryRepository<Hold> implements HoldRepository {
+
+    @Autowired
+    private InMemoryBookRepository books;
+
+    @Autowired
+    private InMemoryUserRepository users;
+
+    private final SecondaryIndex<Hold, Long> byUser = addIndex(hold -> hold.getUser().getId());
+    private final SecondaryIndex<Hold, Long> byBook = addIndex(hold -> hold.getBook().getId());
+    // Índices parciais: apenas reservas em espera
+    private final SecondaryIndex<Hold, Long> waitingByBook = addIndex(hold -> hold.isWaiting() ? hold.getBook().getId() : null);
+    private final SecondaryIndex<Hold, UserBook> waitingByUserBook = addIndex(
+            hold -> hold.isWaiting() ? new UserBook(hold.getUser().getId(), hold.getBook().getId()) : null);
+
+    @Override
+    protected Long idOf(Hold hold) {
+        return hold.getId();
+    }
+
+    @Override
+    protected void assignId(Hold hold, Long id) {
+        hold.setId(id);
+    }
+
+    // Usuário e livro relidos, como as associações de uma entidade carregada pelo JPA
+    @Override
+    protected Hold copy(Hold hold) {
+        Hold copy = new Hold(users.findById(hold.getUser().getId()).orElse(hold.getUser()),
+                books.findById(hold.getBook().getId()).orElse(hold.getBook()),
+                hold.getPlacedAt());
+        copy.setId(hold.getId());
+        copy.setStatus(hold.getStatus());
+        copy.setLoanId(hold.getLoanId());
+        return copy;
+    }
+
+    // Equivalente à restrição unique (user_id, book_id, waiting_key)
+    @Override
+    protected void checkConstraints(Hold hold) {
+        if (!hold.isWaiting()) {
+            return;
+        }
+        boolean taken = waitingByUserBook.ids(waitingByUserBook.keyOf(hold)).stream()
+                .anyMatch(id -> !id.equals(hold.getId()));
+        if (taken) {
+            throw new DataIntegrityViolationException("Duplicate entry for key 'holds.uk_holds_waiting'");
+        }
+    }
+
+    // Reserva em espera de um usuário para um livro, se houver
+    @Override
+    public Optional<Hold> findWaiting(Long userId, Long bookId) {
+        return resolve(waitingByUserBook.ids(new UserBook(userId, bookId))).stream().findFirst();
+    }
+
+    // Primeiras reservas em espera de um livro, em ordem de chegada
+    @Override
+    public List<Hold> findNextWaitingForUpdate(Long bookId, Pageable page) {
+        List<Hold> next = resolve(waitingByBook.ids(bookId)).stream()
+                .sorted(Comparator.comparing(Hold::getId))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .toList();
+        next.forEach(hold -> lockForUpdate(hold.getId()));
+        // Relidas depois do bloqueio: outra transação pode ter atendido alguma enquanto esperávamos
+        return resolve(next.stream().map(Hold::getId).toList()).stream()
+                .filter(Hold::isWaiting)
+                .toList();
+    }
+
+    // Todas as reservas em espera, em ordem de chegada
+    @Override
+    public List<HoldEntry> findAllWaiting() {
+        return rows.values().stream()
+                .filter(Hold::isWaiting)
+                .map(hold -> new HoldEntry(hold.getId(), hold.getBook().getId(), hold.getUser().getId()))
+                .sorted(Comparator.comparing(HoldEntry::holdId))
+                .toList();
+    }
+
+    // Remover as reservas de um usuário
+    @Override
+    public synchronized int deleteByUserId(Long userId) {
+        List<Hold> holds = resolve(byUser.ids(userId));
+        deleteAll(holds);
+        return holds.size();
+    }
+
+    // Remover as reservas de um livro
+    @Override
+    public synchronized int deleteByBookId(Long bookId) {
+        List<Hold> holds = resolve(byBook.ids(bookId));
+        deleteAll(holds);
+        return holds.size();
+    }
+
+    private record UserBook(Long userId, Long bookId) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.biblioteca.storage.memory;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.Loan;
+import com.biblioteca.repository.BorrowRecord;
+import com.biblioteca.repository.LoanRepository;
+
+@Repository
+@Profile("memory")
+public class InMemoryLoanRepository extends InMemoryRepository<Loan> implements LoanRepository {
+
+    // Lazy: os repositórios de livros e usuários também dependem deste
+    @Autowired
+    @Lazy
+    private InMemoryBookRepository books;
+
+    @Autowired
+    @Lazy
+    private InMemoryUserRepository users;
+
+    private final SecondaryIndex<Loan, Long> byUser = addIndex(loan -> loan.getUser().getId());
+    private final SecondaryIndex<Loan, Long> byBook = addIndex(loan -> loan.getBook().getId());
+    // Índices parciais: apenas empréstimos com returnDate IS NULL
+    private final SecondaryIndex<Loan, Boolean> active = addIndex(loan -> isActive(loan) ? Boolean.TRUE : null);
+    private final SecondaryIndex<Loan, Long> activeByUser = addIndex(loan -> isActive(loan) ? loan.getUser().getId() : null);
+    private final SecondaryIndex<Loan, UserBook> activeByUserBook = addIndex(
+            loan -> isActive(loan) ? new UserBook(loan.getUser().getId(), loan.getBook().getId()) : null);
+
+    @Override
+    protected Long idOf(Loan loan) {
+        return loan.getId();
+    }
+
+    @Override
+    protected void assignId(Loan loan, Long id) {
+        loan.setId(id);
+    }
+
+    // Usuário e livro relidos, como as associações de uma entidade carregada pelo JPA
+    @Override
+    protected Loan copy(Loan loan) {
+        Loan copy = new Loan(users.findById(loan.getUser().getId()).orElse(loan.getUser()),
+                books.findById(loan.getBook().getId()).orElse(loan.getBook()),
+                loan.getLoanDate(), loan.getReturnDate());
+        copy.setId(loan.getId());
+        return copy;
+    }
+
+    // Buscar empréstimos por ID do usuário
+    @Override
+    public List<Loan> findByUserId(Long userId) {
+        return resolve(byUser.ids(userId));
+    }
+
+    // Buscar empréstimos por ID do livro
+    @Override
+    public List<Loan> findByBookId(Long bookId) {
+        return resolve(byBook.ids(bookId));
+    }
+
+    // Buscar todos os empréstimos não devolvidos
+    @Override
+    public List<Loan> findByReturnDateIsNull() {
+        return resolve(active.ids(Boolean.TRUE));
+    }
+
+    // Buscar empréstimos de um determinado usuário ainda não devolvidos
+    @Override
+    public List<Loan> findByUserIdAndReturnDateIsNull(Long userId) {
+        return resolve(activeByUser.ids(userId));
+    }
+
+    @Override
+    public boolean existsByUserIdAndBookIdAndReturnDateIsNull(Long userId, Long bookId) {
+        return activeByUserBook.contains(new UserBook(userId, bookId));
+    }
+
+    // IDs de empréstimos devolvidos antes da data, em lotes para o arquivamento
+    @Override
+    public List<Long> findIdsReturnedBefore(LocalDate cutoff, Pageable page) {
+        return rows.values().stream()
+                .filter(loan -> loan.getReturnDate() != null && loan.getReturnDate().isBefore(cutoff))
+                .map(Loan::getId)
+                .sorted()
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    // Próximos usuários com empréstimos, em ordem de ID (carga do modelo de livros relacionados por faixas)
+    @Override
+    public List<Long> findBorrowerIdsAfter(Long afterUserId, Pageable page) {
+        return rows.values().stream()
+                .map(loan -> loan.getUser().getId())
+                .filter(userId -> userId > afterUserId)
+                .distinct()
+                .sorted()
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    // Empréstimos (usuário e livro) de uma faixa de usuários, até um ID de empréstimo
+    @Override
+    public List<BorrowRecord> findBorrowsOfUsers(Long afterUserId, Long lastUserId, Long maxLoanId) {
+        return rows.values().stream()
+                .map(InMemoryLoanRepository::borrowOf)
+                .filter(borrow -> borrow.userId() > afterUserId && borrow.userId() <= lastUserId
+                        && borrow.loanId() <= maxLoanId)
+                .toList();
+    }
+
+    // Maior ID de empréstimo, que delimita a carga inicial do modelo
+    @Override
+    public Optional<Long> findMaxId() {
+        return rows.keySet().stream().max(Long::compare);
+    }
+
+    // Empréstimos de um usuário (usuário e livro), para o modelo de livros relacionados
+    @Override
+    public List<BorrowRecord> findBorrowsByUserId(Long userId) {
+        return findByUserId(userId).stream().map(InMemoryLoanRepository::borrowOf).toList();
+    }
+
+    // Carrega e bloqueia os empréstimos de uma devolução em lote (ordem fixa evita deadlocks)
+    @Override
+    public List<Loan> findAllByIdForUpdate(Collection<Long> ids) {
+        new TreeSet<>(ids).forEach(this::lockForUpdate);
+        return resolve(ids);
+    }
+
+    // Marca vários empréstimos como devolvidos em uma única instrução
+    @Override
+    public int markReturned(Collection<Long> ids, LocalDate returnDate) {
+        new TreeSet<>(ids).forEach(this::lockForUpdate);
+        return returnAll(ids, returnDate);
+    }
+
+    private synchronized int returnAll(Collection<Long> ids, LocalDate returnDate) {
+        int updated = 0;
+        for (Loan loan : findAllById(ids)) {
+            if (isActive(loan)) {
+                loan.setReturnDate(returnDate);
+                save(loan);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private static BorrowRecord borrowOf(Loan loan) {
+        return new BorrowRecord(loan.getId(), loan.getUser().getId(), loan.getBook().getId());
+    }
+
+    private static boolean isActive(Loan loan) {
+        return loan.getReturnDate() == null;
+    }
+
+    private record UserBook(Long userId, Long bookId) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.biblioteca.storage.memory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.biblioteca.projection.ProjectionExecutor;
+import com.biblioteca.projection.ProjectionQuery;
+
+/**
+ * Projeção no armazenamento em memória: as entidades já estão no heap, então
+ * basta filtrar as linhas do repositório da entidade com o filtro da consulta
+ * ({@link ProjectionQuery#matches}) e copiar os campos pedidos.
+ */
+@Component
+@Profile("memory")
+public class InMemoryProjectionExecutor implements ProjectionExecutor {
+
+    @Autowired
+    private List<InMemoryRepository<?>> repositories;
+
+    private final Map<Class<?>, InMemoryRepository<?>> byEntity = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> List<Map<String, Object>> execute(ProjectionQuery<T> query) {
+        InMemoryRepository<T> repository = repositoryFor(query.entityClass());
+        ProjectionQuery.Filter filter = query.filter();
+        // Filtro por ID vai direto ao mapa, sem varrer as linhas
+        List<T> entities = filter != null && filter.operator() == ProjectionQuery.Operator.EQUALS
+                && "id".equals(query.filterField().path()) && filter.value() instanceof Long id
+                        ? repository.findById(id).stream().toList()
+                        : repository.scan().filter(query::matches).toList();
+        return entities.stream()
+                .map(entity -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    query.fields().forEach(field -> row.put(field.name(), field.getter().apply(entity)));
+                    return row;
+                })
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> InMemoryRepository<T> repositoryFor(Class<T> entityClass) {
+        return (InMemoryRepository<T>) byEntity.computeIfAbsent(entityClass, type -> repositories.stream()
+                .filter(repository -> type.equals(ResolvableType
+                        .forClass(InMemoryRepository.class, ClassUtils.getUserClass(repository))
+                        .resolveGeneric(0)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Sem repositório em memória para " + type.getSimpleName())));
+    }
+}
@@ -0,0 +1,317 @@
+package com.biblioteca.storage.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Base dos repositórios em memória usados pelo perfil {@code memory}.
+ * Implementa o contrato de {@link JpaRepository} sobre um mapa concorrente
+ * indexado pelo ID; as subclasses registram seus índices secundários com
+ * {@link #addIndex(Function)}, que são atualizados a cada gravação.
+ *
+ * Leituras não bloqueiam; escritas são serializadas por repositório para
+ * manter linhas e índices consistentes. Como no JPA, alterar uma entidade
+ * lida não muda o armazenamento até o {@code save}: leituras devolvem cópias
+ * e gravações guardam cópias. Não há isolamento transacional, mas gravações
+ * feitas em uma transação são desfeitas no rollback, e as consultas
+ * {@code ...ForUpdate} bloqueiam as linhas até o fim da transação com
+ * {@link #lockForUpdate(Long)} (ver {@link InMemoryTransactionManager}).
+ */
+public abstract class InMemoryRepository<T> implements JpaRepository<T, Long> {
+
+    protected final Map<Long, T> rows = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<SecondaryIndex<T, ?>> indexes = new ArrayList<>();
+
+    protected abstract Long idOf(T entity);
+
+    protected abstract void assignId(T entity, Long id);
+
+    // Cópia independente da entidade (referências a outras entidades são relidas)
+    protected abstract T copy(T entity);
+
+    // Verifica restrições (unicidade, chaves estrangeiras) antes de gravar
+    protected void checkConstraints(T entity) {
+    }
+
+    // Bloqueia a linha até o fim da transação; chame antes de entrar em um método synchronized
+    protected void lockForUpdate(Long id) {
+        InMemoryTransactionManager.lockRow(this, id);
+    }
+
+    // Maior ID já atribuído, mesmo que a linha tenha sido removida depois
+    long lastId() {
+        return sequence.get();
+    }
+
+    // Restaura o maior ID atribuído (snapshot), para que IDs removidos não voltem a ser usados
+    void advanceSequence(long lastId) {
+        sequence.accumulateAndGet(lastId, Math::max);
+    }
+
+    protected <K> SecondaryIndex<T, K> addIndex(Function<T, K> keyExtractor) {
+        SecondaryIndex<T, K> index = new SecondaryIndex<>(keyExtractor);
+        indexes.add(index);
+        return index;
+    }
+
+    @Override
+    public synchronized <S extends T> S save(S entity) {
+        checkConstraints(entity);
+        Long id = idOf(entity);
+        if (id == null) {
+            id = sequence.incrementAndGet();
+            assignId(entity, id);
+        } else {
+            sequence.accumulateAndGet(id, Math::max);
+        }
+        replace(id, copy(entity));
+        return entity;
+    }
+
+    @Override
+    public synchronized <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        T stored = id == null ? null : rows.get(id);
+        return stored == null ? Optional.empty() : Optional.of(copy(stored));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && rows.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return scan()
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<Long> ids) {
+        List<T> found = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return rows.values().stream()
+                .sorted(comparator(sort))
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        if (id != null && rows.containsKey(id)) {
+            replace(id, null);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public synchronized void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public synchronized void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        List.copyOf(rows.keySet()).forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public T getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public T getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public T getReferenceById(Long id) {
+        return findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Registro não encontrado com ID: " + id));
+    }
+
+    // Query by Example não é suportado no armazenamento em memória
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    // Linhas armazenadas em ordem de ID, para filtrar; devolva cópias (copy) ao chamador
+    protected Stream<T> scan() {
+        return rows.values().stream()
+                .sorted(Comparator.comparing(this::idOf));
+    }
+
+    // Troca a linha (null remove) e registra no diário da transação como desfazer
+    private void replace(Long id, T row) {
+        T previous = row == null ? rows.remove(id) : rows.put(id, row);
+        reindex(id, row);
+        InMemoryTransactionManager.recordUndo(() -> restore(id, previous));
+    }
+
+    private synchronized void restore(Long id, T previous) {
+        if (previous == null) {
+            rows.remove(id);
+        } else {
+            rows.put(id, previous);
+        }
+        reindex(id, previous);
+    }
+
+    private void reindex(Long id, T row) {
+        indexes.forEach(index -> index.remove(id));
+        if (row != null) {
+            indexes.forEach(index -> index.put(id, row));
+        }
+    }
+
+    // Resolve os IDs de um índice secundário para as entidades, ordenadas por ID
+    protected List<T> resolve(Iterable<Long> ids) {
+        List<T> found = findAllById(ids);
+        found.sort(Comparator.comparing(this::idOf));
+        return found;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> result = Comparator.comparing(this::idOf);
+        if (sort.isUnsorted()) {
+            return result;
+        }
+        Comparator<T> combined = null;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = Comparator.nullsFirst(Comparator.naturalOrder());
+            Comparator<T> next = Comparator.comparing(
+                    entity -> (Comparable) new BeanWrapperImpl(entity).getPropertyValue(order.getProperty()),
+                    order.isAscending() ? values : values.reversed());
+            combined = combined == null ? next : combined.thenComparing(next);
+        }
+        return combined.thenComparing(result);
+    }
+
+    private UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Query by Example não é suportado no armazenamento em memória");
+    }
+}
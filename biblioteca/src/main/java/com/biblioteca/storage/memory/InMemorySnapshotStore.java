@@ -0,0 +1,267 @@
+package com.biblioteca.storage.memory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.model.ArchivedLoan;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.model.Hold;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persistência opcional do armazenamento em memória em um arquivo JSON.
+ * O snapshot é carregado na inicialização e gravado periodicamente e no
+ * desligamento. Fica desativado quando
+ * {@code biblioteca.storage.memory.snapshot-file} está vazio.
+ * <p>
+ * A gravação roda sem transações em andamento
+ * ({@link InMemoryTransactionManager#exclusive}), então empréstimos e
+ * reservas nunca apontam para livros ou usuários ausentes do arquivo. Também
+ * guarda o maior ID já atribuído de cada repositório: IDs de linhas removidas
+ * (empréstimos arquivados em {@code loans_archive}, por exemplo) não voltam a
+ * ser usados depois de um reinício.
+ */
+@Component
+@Profile("memory")
+public class InMemorySnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemorySnapshotStore.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    @Autowired
+    private InMemoryBookRepository bookRepo;
+
+    @Autowired
+    private InMemoryUserRepository userRepo;
+
+    @Autowired
+    private InMemoryLoanRepository loanRepo;
+
+    @Autowired
+    private InMemoryArchivedLoanRepository archiveRepo;
+
+    @Autowired
+    private InMemoryAuthorRepository authorRepo;
+
+    @Autowired
+    private InMemoryChangeEventRepository changeRepo;
+
+    @Autowired
+    private InMemoryHoldRepository holdRepo;
+
+    @Autowired
+    private InMemoryTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${biblioteca.storage.memory.snapshot-file:}")
+    private String snapshotFile;
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (snapshotFile.isBlank() || !Files.exists(Path.of(snapshotFile))) {
+            return;
+        }
+        Snapshot snapshot = objectMapper.readValue(Path.of(snapshotFile).toFile(), Snapshot.class);
+        if (snapshot.version() != FORMAT_VERSION) {
+            throw new IllegalStateException("Versão de snapshot não suportada: " + snapshot.version());
+        }
+
+        Map<Long, Author> authors = snapshot.authors() == null ? Map.of() : snapshot.authors().stream()
+                .map(AuthorRow::toAuthor)
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        Map<Long, Book> books = snapshot.books().stream()
+                .map(row -> row.toBook(authors))
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Map<Long, User> users = snapshot.users().stream()
+                .map(UserRow::toUser)
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        authorRepo.saveAll(authors.values());
+        bookRepo.saveAll(books.values());
+        userRepo.saveAll(users.values());
+        int skipped = 0;
+        for (LoanRow row : snapshot.loans()) {
+            // Arquivos gravados antes do corte consistente podem ter referências órfãs
+            if (!users.containsKey(row.userId()) || !books.containsKey(row.bookId())) {
+                skipped++;
+                continue;
+            }
+            Loan loan = new Loan(users.get(row.userId()), books.get(row.bookId()), row.loanDate(), row.returnDate());
+            loan.setId(row.id());
+            loanRepo.save(loan);
+        }
+        if (snapshot.archivedLoans() != null) {
+            archiveRepo.saveAll(snapshot.archivedLoans());
+        }
+        if (snapshot.holds() != null) {
+            for (HoldRow row : snapshot.holds()) {
+                if (!users.containsKey(row.userId()) || !books.containsKey(row.bookId())) {
+                    skipped++;
+                    continue;
+                }
+                holdRepo.save(row.toHold(users, books));
+            }
+        }
+        // Mantém os cursores do feed de alterações válidos entre reinícios
+        if (snapshot.changeEvents() != null) {
+            changeRepo.saveAll(snapshot.changeEvents());
+        }
+        if (snapshot.sequences() != null) {
+            repositories().forEach((name, repo) -> {
+                Long lastId = snapshot.sequences().get(name);
+                if (lastId != null) {
+                    repo.advanceSequence(lastId);
+                }
+            });
+        }
+        if (skipped > 0) {
+            log.warn("Snapshot em memória: {} empréstimos/reservas ignorados por livro ou usuário ausente", skipped);
+        }
+        log.info("Snapshot em memória carregado: arquivo={} livros={} usuarios={} emprestimos={}",
+                snapshotFile, books.size(), users.size(), snapshot.loans().size());
+    }
+
+    @Scheduled(fixedDelayString = "${biblioteca.storage.memory.snapshot-interval-ms:60000}",
+            initialDelayString = "${biblioteca.storage.memory.snapshot-interval-ms:60000}")
+    @PreDestroy
+    public synchronized void save() throws IOException {
+        if (snapshotFile.isBlank()) {
+            return;
+        }
+        Snapshot snapshot = transactionManager.exclusive(() -> new Snapshot(FORMAT_VERSION,
+                bookRepo.findAll().stream().map(BookRow::of).toList(),
+                userRepo.findAll().stream().map(UserRow::of).toList(),
+                loanRepo.findAll().stream().map(LoanRow::of).toList(),
+                archiveRepo.findAll(),
+                authorRepo.findAll().stream().map(AuthorRow::of).toList(),
+                changeRepo.findAll(),
+                holdRepo.findAll().stream().map(HoldRow::of).toList(),
+                sequences()));
+
+        // Grava em arquivo temporário e substitui, para nunca deixar um snapshot parcial
+        Path target = Path.of(snapshotFile).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        objectMapper.writeValue(temp.toFile(), snapshot);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Repositórios pelo nome usado no mapa de sequências do arquivo
+    private Map<String, InMemoryRepository<?>> repositories() {
+        Map<String, InMemoryRepository<?>> repositories = new LinkedHashMap<>();
+        repositories.put("books", bookRepo);
+        repositories.put("users", userRepo);
+        repositories.put("loans", loanRepo);
+        repositories.put("loansArchive", archiveRepo);
+        repositories.put("authors", authorRepo);
+        repositories.put("changeEvents", changeRepo);
+        repositories.put("holds", holdRepo);
+        return repositories;
+    }
+
+    private Map<String, Long> sequences() {
+        Map<String, Long> sequences = new LinkedHashMap<>();
+        repositories().forEach((name, repo) -> sequences.put(name, repo.lastId()));
+        return sequences;
+    }
+
+    record Snapshot(int version, List<BookRow> books, List<UserRow> users, List<LoanRow> loans,
+            List<ArchivedLoan> archivedLoans, List<AuthorRow> authors, List<ChangeEvent> changeEvents,
+            List<HoldRow> holds, Map<String, Long> sequences) {
+    }
+
+    record BookRow(Long id, String title, String author, int stock, List<Long> authorIds, boolean authorsSynced) {
+        static BookRow of(Book book) {
+            return new BookRow(book.getId(), book.getTitle(), book.getAuthor(), book.getStock(),
+                    book.getAuthors().stream().map(Author::getId).toList(), book.isAuthorsSynced());
+        }
+
+        Book toBook(Map<Long, Author> authors) {
+            Book book = new Book();
+            book.setId(id);
+            book.setTitle(title);
+            book.setAuthor(author);
+            book.setStock(stock);
+            book.setAuthorsSynced(authorsSynced);
+            if (authorIds != null) {
+                authorIds.stream().map(authors::get).filter(Objects::nonNull).forEach(book.getAuthors()::add);
+            }
+            return book;
+        }
+    }
+
+    record AuthorRow(Long id, String name, int bookCount) {
+        static AuthorRow of(Author author) {
+            return new AuthorRow(author.getId(), author.getName(), author.getBookCount());
+        }
+
+        Author toAuthor() {
+            Author author = new Author(name);
+            author.setId(id);
+            author.setBookCount(bookCount);
+            return author;
+        }
+    }
+
+    record UserRow(Long id, String name, String email) {
+        static UserRow of(User user) {
+            return new UserRow(user.getId(), user.getName(), user.getEmail());
+        }
+
+        User toUser() {
+            User user = new User(name, email);
+            user.setId(id);
+            return user;
+        }
+    }
+
+    record HoldRow(Long id, Long userId, Long bookId, Hold.Status status, LocalDateTime placedAt, Long loanId) {
+        static HoldRow of(Hold hold) {
+            return new HoldRow(hold.getId(), hold.getUser().getId(), hold.getBook().getId(), hold.getStatus(),
+                    hold.getPlacedAt(), hold.getLoanId());
+        }
+
+        Hold toHold(Map<Long, User> users, Map<Long, Book> books) {
+            Hold hold = new Hold(users.get(userId), books.get(bookId), placedAt);
+            hold.setId(id);
+            hold.setStatus(status);
+            hold.setLoanId(loanId);
+            return hold;
+        }
+    }
+
+    record LoanRow(Long id, Long userId, Long bookId, LocalDate loanDate, LocalDate returnDate) {
+        static LoanRow of(Loan loan) {
+            return new LoanRow(loan.getId(), loan.getUser().getId(), loan.getBook().getId(),
+                    loan.getLoanDate(), loan.getReturnDate());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.biblioteca.storage.memory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Motor de armazenamento em memória, ativado pelo perfil {@code memory}.
+ * Substitui MySQL/JPA pelos repositórios deste pacote; as exclusões de
+ * auto-configuração ficam em {@code application-memory.properties}.
+ */
+@Configuration
+@Profile("memory")
+public class InMemoryStorageConfig {
+
+    @Bean
+    public InMemoryTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
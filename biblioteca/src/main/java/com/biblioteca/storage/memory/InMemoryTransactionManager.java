@@ -0,0 +1,174 @@
+package com.biblioteca.storage.memory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.springframework.dao.CannotAcquireLockException;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gerenciador de transações do perfil {@code memory}. Permite que serviços
+ * anotados com {@code @Transactional} rodem sem banco de dados. As gravações
+ * são aplicadas imediatamente (sem isolamento), mas cada repositório registra
+ * no diário da transação como desfazê-las; no rollback o diário é aplicado
+ * em ordem inversa, restaurando linhas e índices.
+ * <p>
+ * Os métodos {@code ...ForUpdate} dos repositórios tomam um bloqueio por
+ * linha ({@link #lockRow}) mantido até o fim da transação, como o
+ * {@code SELECT ... FOR UPDATE} do MySQL; é o que impede duas retiradas do
+ * último exemplar. Cada transação também segura a parte de leitura de um
+ * bloqueio global, que o snapshot em disco toma para escrita
+ * ({@link #exclusive}) e assim grava um corte consistente, sem transações
+ * pela metade.
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    // Espera máxima por um bloqueio de linha, como o innodb_lock_wait_timeout
+    private static final long LOCK_WAIT_SECONDS = 50;
+
+    // Bloqueios por linha (repositório + ID); as entradas ficam para as próximas transações
+    private static final Map<RowKey, ReentrantLock> ROW_LOCKS = new ConcurrentHashMap<>();
+
+    private final ReentrantReadWriteLock transactions = new ReentrantReadWriteLock();
+
+    // Chamado pelos repositórios a cada gravação; fora de transação não há o que desfazer
+    static void recordUndo(Runnable undo) {
+        Journal journal = (Journal) TransactionSynchronizationManager.getResource(InMemoryTransactionManager.class);
+        if (journal != null) {
+            journal.undo.push(undo);
+        }
+    }
+
+    /**
+     * Bloqueia a linha até o fim da transação atual. Fora de transação não há
+     * bloqueio, como uma leitura com autocommit.
+     *
+     * @throws CannotAcquireLockException se a espera passar de {@value #LOCK_WAIT_SECONDS} s
+     */
+    static void lockRow(Object repository, Long id) {
+        Journal journal = (Journal) TransactionSynchronizationManager.getResource(InMemoryTransactionManager.class);
+        if (journal == null || id == null) {
+            return;
+        }
+        ReentrantLock lock = ROW_LOCKS.computeIfAbsent(new RowKey(repository, id), key -> new ReentrantLock());
+        try {
+            if (!lock.tryLock(LOCK_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                throw new CannotAcquireLockException("Tempo de espera por bloqueio esgotado (ID " + id + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Espera por bloqueio interrompida (ID " + id + ")", e);
+        }
+        journal.rowLocks.add(lock);
+    }
+
+    // Executa sem nenhuma transação em andamento (espera as atuais, segura as novas)
+    public <T> T exclusive(Supplier<T> action) {
+        transactions.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            transactions.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new TransactionObject(
+                (Journal) TransactionSynchronizationManager.getResource(InMemoryTransactionManager.class));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((TransactionObject) transaction).journal != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        transactions.readLock().lock();
+        Journal journal = new Journal();
+        ((TransactionObject) transaction).journal = journal;
+        TransactionSynchronizationManager.bindResource(InMemoryTransactionManager.class, journal);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((TransactionObject) transaction).journal = null;
+        return TransactionSynchronizationManager.unbindResource(InMemoryTransactionManager.class);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(InMemoryTransactionManager.class, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        Journal journal = ((TransactionObject) status.getTransaction()).journal;
+        while (!journal.undo.isEmpty()) {
+            journal.undo.pop().run();
+        }
+    }
+
+    // Uma transação interna (REQUIRED) falhou: a externa não pode mais confirmar
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((TransactionObject) status.getTransaction()).journal.rollbackOnly = true;
+    }
+
+    // Libera os bloqueios depois do commit ou do rollback, quando as gravações já estão visíveis ou desfeitas
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryTransactionManager.class);
+        Journal journal = ((TransactionObject) transaction).journal;
+        journal.rowLocks.forEach(ReentrantLock::unlock);
+        journal.rowLocks.clear();
+        transactions.readLock().unlock();
+    }
+
+    // Desfazimentos da transação, do mais recente para o mais antigo
+    private static final class Journal {
+
+        private final Deque<Runnable> undo = new ArrayDeque<>();
+        private final List<ReentrantLock> rowLocks = new ArrayList<>();
+        private volatile boolean rollbackOnly;
+    }
+
+    private record RowKey(Object repository, Long id) {
+    }
+
+    private static final class TransactionObject implements SmartTransactionObject {
+
+        private Journal journal;
+
+        TransactionObject(Journal journal) {
+            this.journal = journal;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return journal != null && journal.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
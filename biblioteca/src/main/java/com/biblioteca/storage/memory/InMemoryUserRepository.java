@@ -0,0 +1,85 @@
+package com.biblioteca.storage.memory;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.User;
+import com.biblioteca.repository.UserRepository;
+
+@Repository
+@Profile("memory")
+public class InMemoryUserRepository extends InMemoryRepository<User> implements UserRepository {
+
+    @Autowired
+    private InMemoryLoanRepository loans;
+
+    // Email normalizado, como na collation case-insensitive do MySQL
+    private final SecondaryIndex<User, String> byEmail = addIndex(user -> emailKey(user.getEmail()));
+
+    @Override
+    protected Long idOf(User user) {
+        return user.getId();
+    }
+
+    @Override
+    protected void assignId(User user, Long id) {
+        user.setId(id);
+    }
+
+    // Os empréstimos (User.loans) ficam no repositório de empréstimos
+    @Override
+    protected User copy(User user) {
+        User copy = new User(user.getName(), user.getEmail());
+        copy.setId(user.getId());
+        return copy;
+    }
+
+    // Equivalente à restrição uk_users_email
+    @Override
+    protected void checkConstraints(User user) {
+        boolean taken = byEmail.ids(byEmail.keyOf(user)).stream()
+                .anyMatch(id -> !id.equals(user.getId()));
+        if (taken) {
+            throw new DataIntegrityViolationException("Duplicate entry '" + user.getEmail() + "' for key 'users.uk_users_email'");
+        }
+    }
+
+    // Buscar usuário pelo email
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return byEmail.ids(emailKey(email)).stream()
+                .findFirst()
+                .flatMap(this::findById);
+    }
+
+    // Verificar se existe usuário com email
+    @Override
+    public boolean existsByEmail(String email) {
+        return byEmail.contains(emailKey(email));
+    }
+
+    // Todos os emails cadastrados (para o filtro de disponibilidade)
+    @Override
+    public List<String> findAllEmails() {
+        return rows.values().stream()
+                .map(User::getEmail)
+                .toList();
+    }
+
+    // Remove também os empréstimos do usuário (cascade de User.loans)
+    @Override
+    public synchronized void deleteById(Long id) {
+        loans.deleteAll(loans.findByUserId(id));
+        super.deleteById(id);
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
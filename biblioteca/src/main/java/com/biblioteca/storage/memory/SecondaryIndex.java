@@ -0,0 +1,61 @@
+package com.biblioteca.storage.memory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Índice secundário de um {@link InMemoryRepository}: mapeia uma chave
+ * derivada da entidade para o conjunto de IDs que a possuem.
+ * Entidades cuja chave é {@code null} não entram no índice, o que permite
+ * índices parciais (ex.: apenas empréstimos ativos).
+ */
+public class SecondaryIndex<T, K> {
+
+    private final Function<T, K> keyExtractor;
+    private final Map<K, Set<Long>> idsByKey = new ConcurrentHashMap<>();
+    // Chave com que cada ID foi indexado, pois as entidades são mutáveis
+    private final Map<Long, K> keyById = new ConcurrentHashMap<>();
+
+    public SecondaryIndex(Function<T, K> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    public K keyOf(T entity) {
+        return keyExtractor.apply(entity);
+    }
+
+    void put(Long id, T entity) {
+        K key = keyOf(entity);
+        if (key == null) {
+            return;
+        }
+        idsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        keyById.put(id, key);
+    }
+
+    void remove(Long id) {
+        K key = keyById.remove(id);
+        if (key == null) {
+            return;
+        }
+        idsByKey.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    public Set<Long> ids(K key) {
+        Set<Long> ids = key == null ? null : idsByKey.get(key);
+        return ids == null ? Set.of() : Set.copyOf(ids);
+    }
+
+    public boolean contains(K key) {
+        return key != null && idsByKey.containsKey(key);
+    }
+
+    public Set<K> keys() {
+        return idsByKey.keySet();
+    }
+}
@@ -0,0 +1,70 @@
+package com.biblioteca.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.BookRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "biblioteca.storage.memory.snapshot-file=",
+        "biblioteca.catalog-snapshot.file=target/catalog-snapshot-job-test.snapshot",
+        "biblioteca.book-cache.catch-up-overlap-ms=0" })
+@ActiveProfiles("memory")
+class CatalogSnapshotJobTest {
+
+    private static final Path FILE = Path.of("target/catalog-snapshot-job-test.snapshot");
+
+    @Autowired
+    private CatalogSnapshotJob job;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(FILE);
+    }
+
+    @Test
+    void rewritesOnlyWhenTheCatalogChanged() throws Exception {
+        bookRepo.save(book("Quincas Borba"));
+        // A versão é gravada em milissegundos; a alteração precisa ficar antes dela
+        Thread.sleep(5);
+        job.writeSnapshot();
+        CatalogSnapshot.Header written = CatalogSnapshot.readHeader(FILE);
+        assertThat(job.isCurrent(FILE)).isTrue();
+
+        job.writeSnapshot();
+        assertThat(CatalogSnapshot.readHeader(FILE)).isEqualTo(written);
+
+        bookRepo.save(book("Helena"));
+        assertThat(job.isCurrent(FILE)).isFalse();
+        job.writeSnapshot();
+        assertThat(CatalogSnapshot.readHeader(FILE).rows()).isEqualTo(written.rows() + 1);
+    }
+
+    @Test
+    void corruptedFileIsNotCurrent() throws IOException {
+        Files.write(FILE, new byte[] {0, 1, 2});
+
+        assertThat(job.isCurrent(FILE)).isFalse();
+    }
+
+    private static Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Machado de Assis");
+        book.setStock(1);
+        return book;
+    }
+}
@@ -0,0 +1,104 @@
+package com.biblioteca.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.biblioteca.model.Book;
+
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_000_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsRowsVersionAndSharedStrings() throws IOException {
+        CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(VERSION);
+        writer.add(book(1L, "O Cortiço", "Aluísio Azevedo", 3));
+        writer.add(book(2L, "Casa de Pensão", "Aluísio Azevedo", 0));
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(writer, file);
+
+        CatalogSnapshot.Contents contents = CatalogSnapshot.read(file);
+
+        assertThat(contents.version()).isEqualTo(VERSION);
+        assertThat(contents.books()).containsExactly(
+                new CachedBook(1L, "O Cortiço", "Aluísio Azevedo", 3),
+                new CachedBook(2L, "Casa de Pensão", "Aluísio Azevedo", 0));
+        assertThat(contents.books().get(0).author()).isSameAs(contents.books().get(1).author());
+        assertThat(CatalogSnapshot.readHeader(file)).isEqualTo(new CatalogSnapshot.Header(VERSION, 2));
+    }
+
+    @Test
+    void keepsNullTitleAndAuthor() throws IOException {
+        CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(VERSION);
+        writer.add(book(1L, null, null, 1));
+        writer.add(book(2L, "Sem autor", null, 2));
+        Path file = dir.resolve("nulls.snapshot");
+        CatalogSnapshot.write(writer, file);
+
+        assertThat(CatalogSnapshot.read(file).books()).containsExactly(
+                new CachedBook(1L, null, null, 1),
+                new CachedBook(2L, "Sem autor", null, 2));
+    }
+
+    @Test
+    void growsBeyondTheInitialCapacity() throws IOException {
+        CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(VERSION);
+        int rows = 2_500;
+        for (long id = 1; id <= rows; id++) {
+            writer.add(book(id, "Livro " + id, "Autor " + (id % 10), (int) id));
+        }
+        Path file = dir.resolve("large.snapshot");
+        CatalogSnapshot.write(writer, file);
+
+        CatalogSnapshot.Contents contents = CatalogSnapshot.read(file);
+
+        assertThat(writer.rows()).isEqualTo(rows);
+        assertThat(contents.books()).hasSize(rows);
+        assertThat(contents.books().get(1024)).isEqualTo(new CachedBook(1025L, "Livro 1025", "Autor 5", 1025));
+        assertThat(contents.books().get(rows - 1)).isEqualTo(new CachedBook(2500L, "Livro 2500", "Autor 0", 2500));
+    }
+
+    @Test
+    void rejectsCorruptedFile() throws IOException {
+        CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(VERSION);
+        writer.add(book(1L, "Lucíola", "José de Alencar", 1));
+        Path file = dir.resolve("corrupt.snapshot");
+        CatalogSnapshot.write(writer, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 8] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> CatalogSnapshot.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("CRC");
+        assertThatThrownBy(() -> CatalogSnapshot.readHeader(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTruncatedOrForeignFile() throws IOException {
+        Path file = dir.resolve("other.snapshot");
+        Files.write(file, new byte[] {1, 2, 3});
+
+        assertThatThrownBy(() -> CatalogSnapshot.read(file)).isInstanceOf(IOException.class);
+    }
+
+    private static Book book(Long id, String title, String author, int stock) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setStock(stock);
+        return book;
+    }
+}
@@ -0,0 +1,67 @@
+package com.biblioteca.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.biblioteca.repository.HoldEntry;
+import com.biblioteca.repository.HoldRepository;
+
+class HoldQueueTest {
+
+    private final HoldRepository holdRepo = mock(HoldRepository.class);
+
+    private final HoldQueue queue = new HoldQueue();
+
+    HoldQueueTest() {
+        ReflectionTestUtils.setField(queue, "holdRepo", holdRepo);
+    }
+
+    @Test
+    void reloadReplacesTheQueues() {
+        queue.added(1L, 10L, 100L);
+        when(holdRepo.findAllWaiting()).thenReturn(List.of(
+                new HoldEntry(2L, 10L, 200L),
+                new HoldEntry(3L, 10L, 300L)));
+
+        assertThat(queue.reload()).isEqualTo(2);
+
+        assertThat(queue.position(10L, 100L)).isEmpty();
+        assertThat(queue.position(10L, 300L)).contains(new HoldQueue.Position(3L, 2, 2));
+    }
+
+    @Test
+    void changesCommittedDuringTheReadSurviveTheReload() {
+        queue.added(1L, 10L, 100L);
+        // A leitura começou antes desses commits: não vê a reserva nova e ainda vê a atendida
+        when(holdRepo.findAllWaiting()).thenAnswer(invocation -> {
+            queue.added(2L, 10L, 200L);
+            queue.removed(10L, 100L);
+            return List.of(new HoldEntry(1L, 10L, 100L));
+        });
+
+        queue.reload();
+
+        assertThat(queue.position(10L, 200L)).contains(new HoldQueue.Position(2L, 1, 1));
+        assertThat(queue.position(10L, 100L)).isEmpty();
+        assertThat(queue.length(10L)).isEqualTo(1);
+    }
+
+    @Test
+    void failedReadKeepsTheQueuesAndStopsRecording() {
+        queue.added(1L, 10L, 100L);
+        when(holdRepo.findAllWaiting()).thenThrow(new IllegalStateException("banco indisponível"));
+
+        assertThatThrownBy(queue::reload).isInstanceOf(IllegalStateException.class);
+        queue.added(2L, 10L, 200L);
+
+        assertThat(queue.length(10L)).isEqualTo(2);
+        assertThat(ReflectionTestUtils.getField(queue, "changedDuringReload")).isNull();
+    }
+}
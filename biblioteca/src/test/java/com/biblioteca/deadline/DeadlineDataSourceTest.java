@@ -0,0 +1,104 @@
+package com.biblioteca.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class DeadlineDataSourceTest {
+
+    private HikariDataSource pool;
+
+    private DeadlineDataSource dataSource;
+
+    @BeforeEach
+    void createPool() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        pool = new HikariDataSource();
+        pool.setDataSource(h2);
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(30_000);
+        dataSource = new DeadlineDataSource(pool);
+    }
+
+    @AfterEach
+    void closePool() {
+        RequestDeadline.end();
+        pool.close();
+    }
+
+    @Test
+    void outsideARequestConnectionsAreUntouched() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            assertThat(statement.getQueryTimeout()).isZero();
+        }
+    }
+
+    @Test
+    void statementsGetTheRemainingSeconds() throws Exception {
+        RequestDeadline.begin(Duration.ofSeconds(5));
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("select 1")) {
+            assertThat(statement.getQueryTimeout()).isBetween(1, 5);
+
+            // O Hibernate pode pedir mais; fica o que resta do prazo
+            statement.setQueryTimeout(600);
+            assertThat(statement.getQueryTimeout()).isBetween(1, 5);
+            statement.setQueryTimeout(0);
+            assertThat(statement.getQueryTimeout()).isBetween(1, 5);
+            statement.setQueryTimeout(1);
+            assertThat(statement.getQueryTimeout()).isEqualTo(1);
+            assertThat(statement.executeQuery().next()).isTrue();
+        }
+    }
+
+    @Test
+    void expiredDeadlineFailsBeforeBorrowing() throws Exception {
+        // O HikariCP só inicia o pool na primeira conexão
+        pool.getConnection().close();
+        RequestDeadline.begin(Duration.ZERO);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTimeoutException.class);
+        assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    @Test
+    void statementsFailOnceTheDeadlinePasses() throws Exception {
+        RequestDeadline.begin(Duration.ofMillis(50));
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("select 1")) {
+            Thread.sleep(80);
+
+            assertThatThrownBy(statement::executeQuery).isInstanceOf(SQLTimeoutException.class);
+            assertThatThrownBy(() -> connection.prepareStatement("select 2")).isInstanceOf(SQLTimeoutException.class);
+        }
+    }
+
+    @Test
+    void poolWaitIsBoundedByTheDeadline() throws Exception {
+        try (Connection held = pool.getConnection()) {
+            RequestDeadline.begin(Duration.ofMillis(300));
+            long start = System.nanoTime();
+
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTimeoutException.class);
+
+            // Bem abaixo do connection-timeout de 30 s do pool
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        }
+    }
+}
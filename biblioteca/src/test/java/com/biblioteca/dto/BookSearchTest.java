@@ -0,0 +1,73 @@
+package com.biblioteca.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.biblioteca.dto.BookSearch.Cursor;
+import com.biblioteca.dto.BookSearch.SortField;
+
+class BookSearchTest {
+
+    @Test
+    void cursorRoundTripsTextValues() {
+        BookSearch search = BookSearch.of(null, null, null, null, "title,desc", null, null);
+        String token = search.encode(new Cursor("Vidas Secas | 1938", 42L));
+
+        BookSearch next = BookSearch.of(null, null, null, null, "title,desc", token, null);
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(next.after()).isEqualTo(new Cursor("Vidas Secas | 1938", 42L));
+        assertThat(next.sort()).isEqualTo(SortField.TITLE);
+        assertThat(next.descending()).isTrue();
+    }
+
+    @Test
+    void cursorKeepsNullAndNumericValues() {
+        BookSearch byAuthor = BookSearch.of(null, null, null, null, "author", null, null);
+        BookSearch byStock = BookSearch.of(null, null, null, null, "stock,asc", null, null);
+
+        assertThat(BookSearch.of(null, null, null, null, "author", byAuthor.encode(new Cursor(null, 7L)), null).after())
+                .isEqualTo(new Cursor(null, 7L));
+        assertThat(BookSearch.of(null, null, null, null, "author", byAuthor.encode(new Cursor("", 8L)), null).after())
+                .isEqualTo(new Cursor("", 8L));
+        assertThat(BookSearch.of(null, null, null, null, "stock", byStock.encode(new Cursor(3, 9L)), null).after())
+                .isEqualTo(new Cursor(3, 9L));
+    }
+
+    @Test
+    void cursorIsBoundToItsOrdering() {
+        String token = BookSearch.of(null, null, null, null, "title", null, null).encode(new Cursor("a", 1L));
+
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, "title,desc", token, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("outra ordenação");
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, "author", token, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, "id", "não é base64!", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        String badId = Base64.getUrlEncoder().encodeToString("id|a|x|~".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, "id", badId, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, "isbn", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, "title,up", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, -1, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BookSearch.of(null, null, null, null, null, null, BookSearch.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
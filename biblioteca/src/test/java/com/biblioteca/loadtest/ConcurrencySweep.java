@@ -0,0 +1,96 @@
+package com.biblioteca.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a capacidade de uma instância em malha fechada: para cada nível de
+ * concorrência, N clientes mantêm exatamente uma requisição em andamento
+ * cada (uma conexão HTTP por cliente). O resultado é a maior concorrência
+ * cujo p99 fica dentro do orçamento, o que permite comparar a API servlet
+ * com o módulo {@code catalog-reactive} sob o mesmo critério.
+ */
+class ConcurrencySweep {
+
+    private final LibraryClient client;
+
+    ConcurrencySweep(LibraryClient client) {
+        this.client = client;
+    }
+
+    List<Level> run(Workload workload, List<Integer> levels, Duration step, Duration p99Budget)
+            throws InterruptedException {
+        List<Level> results = new ArrayList<>();
+        for (int concurrency : levels) {
+            OpenLoopRunner.Result result = runLevel(workload, concurrency, step);
+            Level level = new Level(concurrency, result, p99Budget);
+            results.add(level);
+            // Acima do orçamento, níveis maiores só pioram
+            if (!level.withinBudget()) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    private OpenLoopRunner.Result runLevel(Workload workload, int concurrency, Duration step)
+            throws InterruptedException {
+        OpenLoopRunner.Result result = new OpenLoopRunner.Result(workload, concurrency);
+        long start = System.nanoTime();
+        long end = start + step.toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            loop(workload, result, end, done);
+        }
+        done.await(step.toSeconds() + 35, TimeUnit.SECONDS);
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    // Um cliente: envia a próxima requisição assim que a anterior responde
+    private void loop(Workload workload, OpenLoopRunner.Result result, long end, CountDownLatch done) {
+        if (System.nanoTime() >= end) {
+            done.countDown();
+            return;
+        }
+        Workload.Operation operation = workload.next();
+        long sent = System.nanoTime();
+        operation.call().apply(client).whenComplete((response, error) -> {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent);
+            result.record(operation.name(), micros, error == null ? response.statusCode() : -1);
+            loop(workload, result, end, done);
+        });
+    }
+
+    static void print(List<Level> levels, Duration p99Budget, PrintStream out) {
+        out.printf(Locale.ROOT, "%n=== Capacidade: concorrência máxima com p99 <= %d ms ===%n", p99Budget.toMillis());
+        out.printf(Locale.ROOT, "%12s %12s %10s %10s %8s %8s%n", "conexões", "vazão req/s", "p50 ms", "p99 ms", "erros", "ok?");
+        int best = 0;
+        for (Level level : levels) {
+            OpenLoopRunner.Result result = level.result();
+            out.printf(Locale.ROOT, "%12d %12.1f %10.2f %10.2f %8d %8s%n", level.concurrency(), result.throughput(),
+                    result.total.getValueAtPercentile(50.0) / 1000.0, level.p99Millis(),
+                    result.errors.sum(), level.withinBudget() ? "sim" : "não");
+            if (level.withinBudget()) {
+                best = level.concurrency();
+            }
+        }
+        out.printf(Locale.ROOT, "Conexões simultâneas sustentadas: %d%n", best);
+    }
+
+    record Level(int concurrency, OpenLoopRunner.Result result, Duration p99Budget) {
+
+        double p99Millis() {
+            return result.total.getValueAtPercentile(99.0) / 1000.0;
+        }
+
+        boolean withinBudget() {
+            return result.errors.sum() == 0 && p99Millis() <= p99Budget.toMillis();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.biblioteca.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente HTTP dos endpoints reais da API ({@code /books}, {@code /users},
+ * {@code /loans}) usado pelos cenários de carga. As escritas (carga inicial,
+ * empréstimos e cadastros) podem ir para outra instância que a das
+ * leituras, como no caso do módulo somente leitura {@code catalog-reactive}.
+ */
+class LibraryClient {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String[] TITLE_TERMS = { "Livro", "1", "2", "Volume", "a", "z" };
+    private static final String[] AUTHOR_TERMS = { "Autor", "Silva", "3", "7" };
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String writeUrl;
+    private final AtomicLong signupSequence = new AtomicLong(System.currentTimeMillis());
+    private final Queue<Long> openLoans = new ConcurrentLinkedQueue<>();
+
+    private List<Long> bookIds = List.of();
+    private List<Long> hotBookIds = List.of();
+    private List<Long> userIds = List.of();
+
+    LibraryClient(String baseUrl) {
+        this(baseUrl, baseUrl);
+    }
+
+    LibraryClient(String baseUrl, String writeUrl) {
+        this.baseUrl = trimSlash(baseUrl);
+        this.writeUrl = trimSlash(writeUrl);
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    // Cria o acervo e os usuários usados pelos cenários (fora da medição)
+    void seed(int books, int hotBooks, int users) {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            int stock = i < hotBooks ? 5 : 50;
+            String body = "{\"title\":\"Livro " + i + " Volume " + (i % 7) + "\",\"author\":\"Autor " + (i % 40)
+                    + " Silva\",\"stock\":" + stock + "}";
+            created.add(idOf(send(post("/books", body)).join()));
+        }
+        bookIds = List.copyOf(created);
+        hotBookIds = List.copyOf(created.subList(0, Math.min(hotBooks, created.size())));
+
+        List<Long> createdUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            createdUsers.add(idOf(signup().join()));
+        }
+        userIds = List.copyOf(createdUsers);
+    }
+
+    CompletableFuture<HttpResponse<String>> listBooks() {
+        return send(get("/books"));
+    }
+
+    CompletableFuture<HttpResponse<String>> getBook() {
+        return send(get("/books/" + random(bookIds)));
+    }
+
+    CompletableFuture<HttpResponse<String>> bookAvailability() {
+        return send(get("/books/" + random(hotBookIds) + "/available"));
+    }
+
+    CompletableFuture<HttpResponse<String>> searchTitle() {
+        return send(get("/books/search/title?title=" + random(TITLE_TERMS)));
+    }
+
+    CompletableFuture<HttpResponse<String>> searchAuthor() {
+        return send(get("/books/search/author?author=" + random(AUTHOR_TERMS)));
+    }
+
+    // Empréstimo de um título disputado; metade das vezes devolve um empréstimo aberto
+    CompletableFuture<HttpResponse<String>> checkoutOrReturn() {
+        Long loanId = ThreadLocalRandom.current().nextBoolean() ? openLoans.poll() : null;
+        if (loanId != null) {
+            return send(post("/loans/" + loanId + "/return", ""));
+        }
+        String query = "?userId=" + random(userIds) + "&bookId=" + random(hotBookIds);
+        return send(post("/loans/create" + query, "")).thenApply(response -> {
+            if (response.statusCode() == 201) {
+                openLoans.add(idOf(response));
+            }
+            return response;
+        });
+    }
+
+    CompletableFuture<HttpResponse<String>> signup() {
+        long n = signupSequence.incrementAndGet();
+        String body = "{\"name\":\"Usuário " + n + "\",\"email\":\"carga" + n + "@biblioteca.com\"}";
+        return send(post("/users", body));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(writeUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static Long idOf(HttpResponse<String> response) {
+        Matcher matcher = ID.matcher(response.body());
+        if (response.statusCode() >= 300 || !matcher.find()) {
+            throw new IllegalStateException("Resposta inesperada " + response.statusCode() + ": " + response.body());
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static <T> T random(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
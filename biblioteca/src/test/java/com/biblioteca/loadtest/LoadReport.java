@@ -0,0 +1,60 @@
+package com.biblioteca.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Relatório de uma execução: resumo no console e arquivos {@code .hgrm}
+ * (distribuição de percentis do HdrHistogram, em milissegundos), que podem
+ * ser comparados entre execuções ou plotados no HistogramLogAnalyzer.
+ */
+class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadReport() {
+    }
+
+    static void print(OpenLoopRunner.Result result, PrintStream out) {
+        out.printf(Locale.ROOT, "%n=== %s @ %.0f req/s (alvo) ===%n", result.workload, result.targetRate);
+        out.printf(Locale.ROOT, "requisições=%d  vazão=%.1f req/s  ok=%d  recusadas(4xx)=%d  erros=%d%n",
+                result.total.getTotalCount(), result.throughput(),
+                result.ok.sum(), result.rejected.sum(), result.errors.sum());
+        out.printf(Locale.ROOT, "%-32s %10s %10s %10s %10s %10s%n", "operação", "n", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        line(out, "TOTAL", result.total);
+        new TreeMap<>(result.byOperation).forEach((name, histogram) -> line(out, name, histogram));
+    }
+
+    static void write(OpenLoopRunner.Result result, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String prefix = result.workload.name().toLowerCase(Locale.ROOT) + "-" + (long) result.targetRate + "rps";
+        writeHistogram(result.total, directory.resolve(prefix + ".hgrm"));
+        for (Map.Entry<String, Histogram> entry : result.byOperation.entrySet()) {
+            String name = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+            writeHistogram(entry.getValue(), directory.resolve(prefix + "-" + name + ".hgrm"));
+        }
+    }
+
+    private static void line(PrintStream out, String name, Histogram histogram) {
+        out.printf(Locale.ROOT, "%-32s %10d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(),
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void writeHistogram(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
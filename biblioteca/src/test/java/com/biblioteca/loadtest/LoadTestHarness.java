@@ -0,0 +1,114 @@
+package com.biblioteca.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.biblioteca.BibliotecaApplication;
+
+/**
+ * Teste de carga ponta a ponta da API.
+ *
+ * Sem {@code --target}, sobe a aplicação localmente com o perfil
+ * {@code loadtest} (H2 embarcado) em uma porta livre. Exemplo:
+ *
+ * <pre>
+ * ./mvnw -q install -DskipTests
+ * ./mvnw -q -pl biblioteca test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.biblioteca.loadtest.LoadTestHarness \
+ *     -Dexec.args="--workload=mixed --rate=300 --duration=60"
+ * </pre>
+ *
+ * Opções: {@code --workload} (catalog, search, checkout_storm, signup_burst,
+ * mixed), {@code --rate} (req/s), {@code --duration} e {@code --warmup}
+ * (segundos), {@code --books}, {@code --hot-books}, {@code --users},
+ * {@code --target} (URL de uma instância já em execução), {@code --write-target}
+ * (instância que recebe as escritas, padrão igual a {@code --target}) e
+ * {@code --out} (diretório dos arquivos .hgrm, padrão {@code target/loadtest}).
+ *
+ * Com {@code --mode=capacity}, em vez de uma taxa fixa, mede quantas conexões
+ * simultâneas a instância sustenta com p99 dentro de {@code --p99-ms}
+ * (padrão 100), subindo pelos níveis de {@code --concurrency} (padrão
+ * 8,16,32,64,128,256,512), {@code --step} segundos cada. Para comparar com o
+ * catálogo reativo, com as duas aplicações apontando para o mesmo banco:
+ *
+ * <pre>
+ *     -Dexec.args="--mode=capacity --workload=catalog --target=http://localhost:8083 \
+ *                  --write-target=http://localhost:8082"
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Workload workload = Workload.valueOf(options.getOrDefault("workload", "mixed").toUpperCase(Locale.ROOT));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest"));
+
+        ConfigurableApplicationContext app = null;
+        String target = options.get("target");
+        if (target == null) {
+            app = SpringApplication.run(BibliotecaApplication.class,
+                    "--spring.profiles.active=loadtest", "--server.port=0");
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            target = "http://localhost:" + port;
+        }
+
+        try {
+            LibraryClient client = new LibraryClient(target, options.getOrDefault("write-target", target));
+            client.seed(Integer.parseInt(options.getOrDefault("books", "200")),
+                    Integer.parseInt(options.getOrDefault("hot-books", "5")),
+                    Integer.parseInt(options.getOrDefault("users", "100")));
+
+            if ("capacity".equals(options.get("mode"))) {
+                List<Integer> levels = Arrays.stream(options.getOrDefault("concurrency", "8,16,32,64,128,256,512").split(","))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .toList();
+                Duration step = Duration.ofSeconds(Long.parseLong(options.getOrDefault("step", "20")));
+                Duration budget = Duration.ofMillis(Long.parseLong(options.getOrDefault("p99-ms", "100")));
+                ConcurrencySweep sweep = new ConcurrencySweep(client);
+                if (!warmup.isZero()) {
+                    sweep.run(workload, List.of(levels.get(0)), warmup, budget);
+                }
+                ConcurrencySweep.print(sweep.run(workload, levels, step, budget), budget, System.out);
+                return;
+            }
+
+            OpenLoopRunner runner = new OpenLoopRunner(client);
+            if (!warmup.isZero()) {
+                runner.run(workload, rate, warmup);
+            }
+            OpenLoopRunner.Result result = runner.run(workload, rate, duration);
+            LoadReport.print(result, System.out);
+            LoadReport.write(result, out);
+            System.out.println("Histogramas gravados em " + out.toAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --nome=valor)");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
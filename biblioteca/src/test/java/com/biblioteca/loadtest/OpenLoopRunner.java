@@ -0,0 +1,106 @@
+package com.biblioteca.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Gera carga em malha aberta: as requisições partem em uma taxa fixa,
+ * independentemente de as anteriores já terem respondido. A latência é
+ * medida a partir do instante planejado de envio, de modo que filas no
+ * servidor aparecem nos percentis (sem "coordinated omission").
+ */
+class OpenLoopRunner {
+
+    // Latências em microssegundos, até 60 s, com 3 dígitos significativos
+    static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LibraryClient client;
+
+    OpenLoopRunner(LibraryClient client) {
+        this.client = client;
+    }
+
+    Result run(Workload workload, double ratePerSecond, Duration duration) throws InterruptedException {
+        Result result = new Result(workload, ratePerSecond);
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Operation operation = workload.next();
+            inFlight.incrementAndGet();
+            operation.call().apply(client).whenComplete((response, error) -> {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                int status = error == null ? response.statusCode() : -1;
+                result.record(operation.name(), micros, status);
+                inFlight.decrementAndGet();
+            });
+        }
+
+        // Aguarda as requisições em andamento (limitado ao timeout do cliente)
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(35);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    static final class Result {
+
+        final Workload workload;
+        final double targetRate;
+        final Histogram total = newHistogram();
+        final Map<String, Histogram> byOperation = new ConcurrentHashMap<>();
+        final LongAdder ok = new LongAdder();
+        // 4xx: recusas de negócio esperadas (fora de estoque, email duplicado)
+        final LongAdder rejected = new LongAdder();
+        // 5xx, timeouts e falhas de conexão
+        final LongAdder errors = new LongAdder();
+        long elapsedNanos;
+
+        Result(Workload workload, double targetRate) {
+            this.workload = workload;
+            this.targetRate = targetRate;
+        }
+
+        void record(String operation, long micros, int status) {
+            long value = Math.min(micros, MAX_LATENCY_MICROS);
+            total.recordValue(value);
+            byOperation.computeIfAbsent(operation, name -> newHistogram()).recordValue(value);
+            if (status >= 200 && status < 400) {
+                ok.increment();
+            } else if (status >= 400 && status < 500) {
+                rejected.increment();
+            } else {
+                errors.increment();
+            }
+        }
+
+        double throughput() {
+            return total.getTotalCount() / (elapsedNanos / 1e9);
+        }
+
+        private static Histogram newHistogram() {
+            return new ConcurrentHistogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        }
+    }
+}
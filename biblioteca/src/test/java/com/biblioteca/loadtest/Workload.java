@@ -0,0 +1,78 @@
+package com.biblioteca.loadtest;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Misturas de operações usadas pelo {@link LoadTestHarness}.
+ * Cada operação tem um peso relativo dentro da mistura.
+ */
+enum Workload {
+
+    // Navegação no catálogo: listagem, detalhe e disponibilidade
+    CATALOG(
+            op("GET /books", 10, LibraryClient::listBooks),
+            op("GET /books/{id}", 60, LibraryClient::getBook),
+            op("GET /books/{id}/available", 30, LibraryClient::bookAvailability)),
+
+    // Buscas por título e autor
+    SEARCH(
+            op("GET /books/search/title", 60, LibraryClient::searchTitle),
+            op("GET /books/search/author", 40, LibraryClient::searchAuthor)),
+
+    // Empréstimos e devoluções concentrados em poucos títulos
+    CHECKOUT_STORM(
+            op("POST /loans (create|return)", 100, LibraryClient::checkoutOrReturn)),
+
+    // Rajada de cadastros
+    SIGNUP_BURST(
+            op("POST /users", 100, LibraryClient::signup)),
+
+    // Perfil típico de um dia de biblioteca
+    MIXED(
+            op("GET /books/{id}", 40, LibraryClient::getBook),
+            op("GET /books/{id}/available", 10, LibraryClient::bookAvailability),
+            op("GET /books/search/title", 15, LibraryClient::searchTitle),
+            op("GET /books/search/author", 10, LibraryClient::searchAuthor),
+            op("GET /books", 5, LibraryClient::listBooks),
+            op("POST /loans (create|return)", 15, LibraryClient::checkoutOrReturn),
+            op("POST /users", 5, LibraryClient::signup));
+
+    private final Operation[] operations;
+    private final int totalWeight;
+
+    Workload(Operation... operations) {
+        this.operations = operations;
+        int total = 0;
+        for (Operation operation : operations) {
+            total += operation.weight();
+        }
+        this.totalWeight = total;
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            pick -= operation.weight();
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Operation[] operations() {
+        return operations;
+    }
+
+    private static Operation op(String name, int weight,
+            Function<LibraryClient, CompletableFuture<HttpResponse<String>>> call) {
+        return new Operation(name, weight, call);
+    }
+
+    record Operation(String name, int weight,
+            Function<LibraryClient, CompletableFuture<HttpResponse<String>>> call) {
+    }
+}
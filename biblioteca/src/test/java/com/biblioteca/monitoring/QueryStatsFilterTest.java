@@ -0,0 +1,129 @@
+package com.biblioteca.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class QueryStatsFilterTest {
+
+    private final QueryStatsFilter filter = new QueryStatsFilter();
+
+    private final QueryCountingInspector inspector = new QueryCountingInspector();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxQueries", 2);
+        ReflectionTestUtils.setField(filter, "maxDbTimeMs", 500L);
+    }
+
+    @Test
+    void headersCarryTheStatementsOfTheRequest() throws Exception {
+        MockHttpServletResponse response = run((request, out) -> {
+            inspector.inspect("select * from books where id = ?");
+            inspector.inspect("select * from books where id = ?");
+            out.getWriter().write("ok");
+        });
+
+        assertThat(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryStatsFilter.DB_TIME_HEADER)).isEqualTo("0");
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+    }
+
+    @Test
+    void headersAreWrittenBeforeTheBodyIsFlushed() throws Exception {
+        MockHttpServletResponse response = run((request, out) -> {
+            inspector.inspect("select 1");
+            out.getOutputStream().write("parte 1;".getBytes(StandardCharsets.UTF_8));
+            out.flushBuffer();
+            assertThat(out.isCommitted()).isTrue();
+            // Depois do commit a resposta segue sem buffer; a consulta só entra no aviso
+            inspector.inspect("select 2");
+            out.getOutputStream().write("parte 2".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).isEqualTo("parte 1;parte 2");
+    }
+
+    @Test
+    void errorsStillCarryTheHeaders() throws Exception {
+        MockHttpServletResponse response = run((request, out) -> {
+            inspector.inspect("select 1");
+            out.sendError(HttpServletResponse.SC_NOT_FOUND);
+        });
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void warnsOnlyAboveTheBudget() throws Exception {
+        Logger logger = (Logger) LoggerFactory.getLogger(QueryStatsFilter.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        logger.addAppender(appender);
+        try {
+            run((request, out) -> inspector.inspect("select 1"));
+            assertThat(appender.list).isEmpty();
+
+            run((request, out) -> {
+                for (int i = 0; i < 3; i++) {
+                    inspector.inspect("select * from books where id in (?, ?, ?)");
+                }
+            });
+            assertThat(appender.list).singleElement()
+                    .extracting(ILoggingEvent::getFormattedMessage).asString()
+                    .contains("Orçamento de SQL excedido", "queries=3", "select * from books where id in (?...)=3");
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+    }
+
+    @Test
+    void disabledFilterLeavesTheResponseAlone() throws Exception {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+
+        MockHttpServletResponse response = run((request, out) -> inspector.inspect("select 1"));
+
+        assertThat(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER)).isNull();
+    }
+
+    private MockHttpServletResponse run(Handler handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                handler.handle(req, resp);
+            }
+        }));
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
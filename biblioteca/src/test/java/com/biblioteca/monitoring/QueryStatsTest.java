@@ -0,0 +1,56 @@
+package com.biblioteca.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QueryStatsTest {
+
+    @AfterEach
+    void end() {
+        QueryStats.end();
+    }
+
+    @Test
+    void inspectorCountsStatementsByShape() {
+        QueryStats stats = QueryStats.begin();
+        QueryCountingInspector inspector = new QueryCountingInspector();
+
+        String sql = "select * from books\n where id in (?, ?)";
+        assertThat(inspector.inspect(sql)).isSameAs(sql);
+        inspector.inspect("select *  from books where id in (?,?,?)");
+        inspector.inspect("select * from users where id = ?");
+
+        assertThat(stats.getQueryCount()).isEqualTo(3);
+        assertThat(stats.getShapes()).containsExactly(
+                entry("select * from books where id in (?...)", 2),
+                entry("select * from users where id = ?", 1));
+    }
+
+    @Test
+    void listenerAddsStatementAndBatchTime() throws InterruptedException {
+        QueryStats stats = QueryStats.begin();
+        JdbcTimingListener listener = new JdbcTimingListener();
+
+        listener.jdbcExecuteStatementStart();
+        Thread.sleep(5);
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcExecuteBatchStart();
+        Thread.sleep(5);
+        listener.jdbcExecuteBatchEnd();
+
+        assertThat(stats.getJdbcMillis()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void nothingIsRecordedOutsideARequest() {
+        new QueryCountingInspector().inspect("select 1");
+        JdbcTimingListener listener = new JdbcTimingListener();
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+
+        assertThat(QueryStats.current()).isNull();
+    }
+}
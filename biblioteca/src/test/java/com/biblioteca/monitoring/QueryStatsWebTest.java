@@ -0,0 +1,31 @@
+package com.biblioteca.monitoring;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class QueryStatsWebTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void responsesCarryQueryCountAndDbTime() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryStatsFilter.QUERY_COUNT_HEADER,
+                        Matchers.not(Matchers.either(Matchers.equalTo("0")).or(Matchers.nullValue()))))
+                .andExpect(header().exists(QueryStatsFilter.DB_TIME_HEADER));
+    }
+}
@@ -0,0 +1,59 @@
+package com.biblioteca.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.projection.ProjectionQuery.Filter;
+import com.biblioteca.projection.ProjectionQuery.Operator;
+import com.biblioteca.service.BookService;
+
+class ProjectionQueryTest {
+
+    private static final FieldSet<Book> FIELDS = BookService.FIELDS;
+
+    @Test
+    void containsIgnoresCaseAndTreatsWildcardsAsLiterals() {
+        Book book = book(1L, "100% Java_Guia", "Ítalo Calvino");
+
+        assertThat(where("title", Operator.CONTAINS_IGNORE_CASE, "100%").matches(book)).isTrue();
+        assertThat(where("title", Operator.CONTAINS_IGNORE_CASE, "JAVA_").matches(book)).isTrue();
+        assertThat(where("title", Operator.CONTAINS_IGNORE_CASE, "10_%").matches(book)).isFalse();
+        assertThat(where("author", Operator.CONTAINS_IGNORE_CASE, "ítalo").matches(book)).isTrue();
+        assertThat(where("author", Operator.CONTAINS_IGNORE_CASE, "ÍTALO").matches(book)).isTrue();
+    }
+
+    @Test
+    void equalsComparesTheFieldValue() {
+        Book book = book(7L, "Sagarana", "Guimarães Rosa");
+
+        assertThat(where("id", Operator.EQUALS, 7L).matches(book)).isTrue();
+        assertThat(where("id", Operator.EQUALS, 8L).matches(book)).isFalse();
+        assertThat(ProjectionQuery.all(FIELDS, FIELDS.select("id")).matches(book)).isTrue();
+    }
+
+    @Test
+    void nullValuesNeverContain() {
+        assertThat(where("author", Operator.CONTAINS_IGNORE_CASE, "a").matches(book(1L, "Sem autor", null))).isFalse();
+    }
+
+    @Test
+    void filterMustNameAField() {
+        assertThatThrownBy(() -> where("isbn", Operator.EQUALS, "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProjectionQuery<Book> where(String field, Operator operator, Object value) {
+        return ProjectionQuery.where(FIELDS, FIELDS.select("id"), new Filter(field, operator, value));
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
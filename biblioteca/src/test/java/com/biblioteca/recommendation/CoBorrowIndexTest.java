@@ -0,0 +1,162 @@
+package com.biblioteca.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.dto.RelatedBook;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.recommendation.CoBorrowIndex.Neighbor;
+import com.biblioteca.service.BookService;
+import com.biblioteca.service.LoanService;
+import com.biblioteca.service.UserService;
+
+// Carga inicial e atualização do modelo sobre o H2 do perfil loadtest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class CoBorrowIndexTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void initialLoadCountsUsersWhoBorrowedBothBooks() throws InterruptedException {
+        Book a = newBook();
+        Book b = newBook();
+        Book c = newBook();
+        borrow(newUser(), a, b);
+        borrow(newUser(), a, b, c);
+        borrow(newUser(), a);
+
+        CoBorrowIndex index = beanFactory.createBean(CoBorrowIndex.class);
+        try {
+            index.run(null);
+            List<Neighbor> related = await(() -> index.related(a.getId(), 10), 2);
+
+            assertThat(related).containsExactly(new Neighbor(b.getId(), 2), new Neighbor(c.getId(), 1));
+            assertThat(index.related(c.getId(), 10))
+                    .containsExactlyInAnyOrder(new Neighbor(a.getId(), 1), new Neighbor(b.getId(), 1));
+        } finally {
+            index.shutdown();
+        }
+    }
+
+    @Test
+    void relatedBooksFollowNewLoans() throws InterruptedException {
+        Book a = newBook();
+        Book b = newBook();
+        Book c = newBook();
+        borrow(newUser(), a, b);
+        borrow(newUser(), b, a);
+        borrow(newUser(), c, a);
+
+        List<RelatedBook> related = await(() -> bookService.getRelatedBooks(a.getId(), 5), 2);
+        assertThat(related).extracting(RelatedBook::id, RelatedBook::borrowedTogether)
+                .containsExactly(tuple(b.getId(), 2),
+                        tuple(c.getId(), 1));
+        assertThat(bookService.getRelatedBooks(a.getId(), 1)).extracting(RelatedBook::id).containsExactly(b.getId());
+    }
+
+    @Test
+    void loanCommittedAfterTheLoadReadItsUserIsStillCounted() throws Exception {
+        Book a = newBook();
+        Book b = newBook();
+        User late = newUser();
+        borrow(late, b);
+
+        // O empréstimo recebe o ID agora, mas só é confirmado depois da carga
+        AtomicReference<Loan> pending = new AtomicReference<>();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+        Thread writer = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            pending.set(loanService.createLoan(late.getId(), a.getId()));
+            inserted.countDown();
+            try {
+                loaded.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        writer.start();
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        // Um ID maior, já confirmado, vira o limite da carga
+        Book c = newBook();
+        Book d = newBook();
+        User other = newUser();
+        loanService.createLoan(other.getId(), c.getId());
+        Loan later = loanService.createLoan(other.getId(), d.getId());
+
+        CoBorrowIndex index = beanFactory.createBean(CoBorrowIndex.class);
+        try {
+            index.run(null);
+            assertThat(await(() -> index.related(c.getId(), 10), 1)).containsExactly(new Neighbor(d.getId(), 1));
+            assertThat(index.related(a.getId(), 10)).isEmpty();
+
+            loaded.countDown();
+            writer.join();
+            index.loanCreated(pending.get());
+
+            assertThat(pending.get().getId()).isLessThan(later.getId());
+            assertThat(await(() -> index.related(a.getId(), 10), 1)).containsExactly(new Neighbor(b.getId(), 1));
+            assertThat(index.related(b.getId(), 10)).containsExactly(new Neighbor(a.getId(), 1));
+        } finally {
+            loaded.countDown();
+            index.shutdown();
+        }
+    }
+
+    private void borrow(User user, Book... books) {
+        for (Book book : books) {
+            loanService.createLoan(user.getId(), book.getId());
+        }
+    }
+
+    private Book newBook() {
+        Book book = new Book();
+        book.setTitle("Livro " + UUID.randomUUID());
+        book.setAuthor("Autor de Teste");
+        book.setStock(5);
+        return bookService.createBook(book);
+    }
+
+    private User newUser() {
+        return userService.createUser(new User("Leitor", UUID.randomUUID() + "@example.com"));
+    }
+
+    // O modelo é atualizado em segundo plano; espera até a lista ter o tamanho esperado
+    private static <T> List<T> await(Supplier<List<T>> read, int size) throws InterruptedException {
+        List<T> result = read.get();
+        for (int i = 0; i < 100 && result.size() < size; i++) {
+            Thread.sleep(50);
+            result = read.get();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.biblioteca.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+    @Test
+    void growsPastTheExpectedSize() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        for (long key = 1; key <= 10_000; key++) {
+            map.addTo(key, (int) key);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key)).as("chave %d", key).isEqualTo((int) key);
+        }
+        assertThat(map.get(10_001)).isZero();
+    }
+
+    @Test
+    void keepsCollidingKeysApart() {
+        // Múltiplos da capacidade e IDs vizinhos disputam as mesmas posições na tabela pequena
+        LongIntHashMap map = new LongIntHashMap(4);
+        long[] keys = { 8, 16, 24, 32, 1L << 32, (1L << 32) + 8, Long.MAX_VALUE, -8 };
+        for (int i = 0; i < keys.length; i++) {
+            map.addTo(keys[i], i + 1);
+            map.addTo(keys[i], i + 1);
+        }
+
+        assertThat(map.size()).isEqualTo(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(map.get(keys[i])).isEqualTo(2 * (i + 1));
+        }
+    }
+
+    @Test
+    void matchesAReferenceMapUnderRandomIncrements() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(3_000);
+            int delta = random.nextInt(5) + 1;
+            map.addTo(key, delta);
+            expected.merge(key, delta, Integer::sum);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, count) -> assertThat(map.get(key)).isEqualTo(count));
+    }
+
+    @Test
+    void rejectsTheZeroKeyAndNeverReportsIt() {
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        assertThatThrownBy(() -> map.addTo(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0)).isZero();
+
+        for (long key = 1; key <= 20; key++) {
+            map.addTo(key, (int) key);
+        }
+        map.retainTop(3);
+        // As posições esvaziadas pela poda não podem aparecer como chave 0
+        assertThat(map.get(0)).isZero();
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    void topAndRetainTopKeepTheLargestCounts() {
+        LongIntHashMap map = new LongIntHashMap(8);
+        for (long key = 1; key <= 10; key++) {
+            map.addTo(key, (int) (key * 10));
+        }
+
+        int[] counts = new int[3];
+        assertThat(map.top(3, counts)).containsExactly(10, 9, 8);
+        assertThat(counts).containsExactly(100, 90, 80);
+        assertThat(map.top(20, null)).hasSize(10);
+
+        map.retainTop(2);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(10)).isEqualTo(100);
+        assertThat(map.get(9)).isEqualTo(90);
+        assertThat(map.get(8)).isZero();
+        map.addTo(8, 1);
+        assertThat(map.get(8)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.biblioteca.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void createsEachValueOnceAndGrows() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(1);
+        for (long key = 1; key <= 5_000; key++) {
+            map.computeIfAbsent(key, Long::toString);
+        }
+
+        assertThat(map.size()).isEqualTo(5_000);
+        assertThat(map.computeIfAbsent(42, key -> "outro")).isEqualTo("42");
+        assertThat(map.get(4_999)).isEqualTo("4999");
+        assertThat(map.get(5_001)).isNull();
+    }
+
+    @Test
+    void removalKeepsTheRestOfTheProbeSequenceReachable() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long key = 1 + random.nextInt(500);
+            if (random.nextBoolean()) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.computeIfAbsent(key, Long::valueOf)).isEqualTo(expected.computeIfAbsent(key, Long::valueOf));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 500; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    void rejectsTheZeroKey() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+
+        assertThatThrownBy(() -> map.computeIfAbsent(0, Long::toString)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0)).isNull();
+        assertThat(map.remove(0)).isNull();
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        map.computeIfAbsent(1, Long::toString);
+        map.computeIfAbsent(2, Long::toString);
+
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.get(1)).isNull();
+    }
+}
@@ -0,0 +1,10 @@
+package com.biblioteca.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Inserção de autores na conexão do livro e migração com SKIP LOCKED, sobre o H2 do perfil loadtest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class AuthorServiceJpaTest extends AuthorServiceTestBase {
+}
@@ -0,0 +1,124 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+
+// Casos comuns aos perfis memory (AuthorServiceTest) e loadtest/H2 (AuthorServiceJpaTest)
+abstract class AuthorServiceTestBase {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorMigration authorMigration;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private AuthorRepository authorRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentBooksShareTheNewAuthor() throws Exception {
+        String name = "Autor " + UUID.randomUUID();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Book>> created = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return bookService.createBook(book("Livro " + UUID.randomUUID(), name, 1));
+                }));
+            }
+            start.countDown();
+            for (Future<Book> future : created) {
+                assertThat(future.get().getAuthors()).hasSize(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Author> authors = authorRepo.findByNameKeyIn(List.of(Author.normalize(name)));
+        assertThat(authors).hasSize(1);
+        assertThat(authors.get(0).getBookCount()).isEqualTo(threads);
+    }
+
+    @Test
+    void migrationMarksBooksAndSkipsThemOnTheNextRun() {
+        Book legacy = bookRepo.save(book("Memórias Póstumas", "Machado de Assis", 1));
+        Book anonymous = bookRepo.save(book("Cantigas", null, 1));
+
+        authorMigration.run(null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Book migrated = bookRepo.findById(legacy.getId()).orElseThrow();
+            assertThat(migrated.isAuthorsSynced()).isTrue();
+            assertThat(migrated.getAuthors()).extracting(Author::getName).containsExactly("Machado de Assis");
+            assertThat(bookRepo.findById(anonymous.getId())).get().extracting(Book::isAuthorsSynced).isEqualTo(true);
+            assertThat(bookRepo.findAuthorsNotSynced(0L, PageRequest.of(0, 10))).isEmpty();
+        });
+    }
+
+    @Test
+    void concurrentMigrationsCountEachBookOnce() throws Exception {
+        String name = "Autor " + UUID.randomUUID();
+        int books = 40;
+        for (int i = 0; i < books; i++) {
+            bookRepo.save(book("Legado " + i, name, 1));
+        }
+        int instances = 3;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < instances; i++) {
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    authorMigration.run(null);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Author> authors = authorRepo.findByNameKeyIn(List.of(Author.normalize(name)));
+        assertThat(authors).hasSize(1);
+        assertThat(authors.get(0).getBookCount()).isEqualTo(books);
+        assertThat(bookRepo.findByAuthorsId(authors.get(0).getId())).hasSize(books);
+    }
+
+    private static Book book(String title, String author, int stock) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setStock(stock);
+        return book;
+    }
+}
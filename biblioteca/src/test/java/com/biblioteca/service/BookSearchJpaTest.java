@@ -0,0 +1,10 @@
+package com.biblioteca.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Predicados de cursor da consulta Criteria, sobre o H2 do perfil loadtest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class BookSearchJpaTest extends BookSearchPagingTestBase {
+}
@@ -0,0 +1,32 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "biblioteca.storage.memory.snapshot-file=")
+@ActiveProfiles("memory")
+class BookSearchMemoryTest extends BookSearchPagingTestBase {
+
+    // Mesma ordem da collation do MySQL, que ignora maiúsculas e acentos
+    @Test
+    void ordersTextIgnoringCaseAndAccents() {
+        String tag = UUID.randomUUID().toString();
+        List<Long> expected = ids(
+                create("alfa", tag), create("Beta", tag), create("beta", tag),
+                create("Ébano", tag), create("charlie", tag), create("ebano", tag), create("Zulu", tag));
+
+        assertThat(pages(null, tag, "title", 3)).containsExactly(
+                expected.get(0), expected.get(1), expected.get(2), expected.get(4),
+                expected.get(3), expected.get(5), expected.get(6));
+        assertThat(pages(null, tag, "title,desc", 3)).containsExactly(
+                expected.get(6), expected.get(5), expected.get(3), expected.get(4),
+                expected.get(2), expected.get(1), expected.get(0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.biblioteca.dto.BookSearch;
+import com.biblioteca.dto.BookSearchResult;
+import com.biblioteca.model.Book;
+
+/**
+ * Percorre a busca combinada página a página, pelos cursores, nas duas
+ * direções. Cada teste isola suas linhas por um marcador único no campo que
+ * não está sendo ordenado. As subclasses escolhem o armazenamento.
+ */
+abstract class BookSearchPagingTestBase {
+
+    @Autowired
+    protected BookService bookService;
+
+    @Test
+    void pagesThroughNullTitlesInBothDirections() {
+        String tag = UUID.randomUUID().toString();
+        List<Long> expected = ids(
+                create(null, tag), create(null, tag), create("alfa", tag),
+                create("beta", tag), create("beta", tag), create("charlie", tag));
+
+        assertThat(pages(null, tag, "title", 2)).isEqualTo(expected);
+        assertThat(pages(null, tag, "title,desc", 2)).isEqualTo(reversed(expected));
+    }
+
+    @Test
+    void pagesThroughNullAuthorsWhenTheBoundaryFallsBetweenNulls() {
+        String tag = UUID.randomUUID().toString();
+        List<Long> expected = ids(
+                create(tag, null), create(tag, null), create(tag, null), create(tag, "rosa"));
+
+        // Páginas de 1: o cursor cai em cada linha nula
+        assertThat(pages(tag, null, "author", 1)).isEqualTo(expected);
+        assertThat(pages(tag, null, "author,desc", 1)).isEqualTo(reversed(expected));
+    }
+
+    @Test
+    void sortsByStockWithIdAsTieBreaker() {
+        String tag = UUID.randomUUID().toString();
+        Book first = create(tag, "a", 2);
+        Book second = create(tag, "a", 0);
+        Book third = create(tag, "a", 2);
+
+        assertThat(pages(tag, null, "stock", 2)).containsExactly(second.getId(), first.getId(), third.getId());
+        assertThat(pages(tag, null, "stock,desc", 2)).containsExactly(third.getId(), first.getId(), second.getId());
+    }
+
+    // IDs de todas as páginas, seguindo nextCursor até a última
+    protected List<Long> pages(String title, String author, String sort, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            BookSearchResult page = bookService.search(BookSearch.of(title, author, null, null, sort, after, limit));
+            assertThat(page.books()).hasSizeLessThanOrEqualTo(limit);
+            page.books().forEach(book -> ids.add(book.getId()));
+            after = page.nextCursor();
+            assertThat(page.hasMore()).isEqualTo(after != null);
+        } while (after != null);
+        return ids;
+    }
+
+    protected Book create(String title, String author) {
+        return create(title, author, 1);
+    }
+
+    protected Book create(String title, String author, int stock) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setStock(stock);
+        return bookService.createBook(book);
+    }
+
+    protected static List<Long> ids(Book... books) {
+        return Arrays.stream(books).map(Book::getId).toList();
+    }
+
+    protected static List<Long> reversed(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
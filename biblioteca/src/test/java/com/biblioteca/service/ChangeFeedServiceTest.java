@@ -0,0 +1,149 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.biblioteca.dto.ChangeFeedPage;
+import com.biblioteca.dto.ChangeFeedPage.Event;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent.EntityType;
+import com.biblioteca.model.ChangeEvent.Operation;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Perfil memory: sem transações concorrentes, os eventos ficam visíveis imediatamente
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "biblioteca.storage.memory.snapshot-file=")
+@ActiveProfiles("memory")
+class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Test
+    void compactsEachEntityToItsLatestState() {
+        long since = head();
+        Book kept = bookService.createBook(book("Rascunho"));
+        bookService.updateBook(kept.getId(), book("Segunda versão"));
+        bookService.updateBook(kept.getId(), book("Versão final"));
+        Book dropped = bookService.createBook(book("Descartado"));
+        bookService.deleteBook(dropped.getId());
+
+        List<Event> events = changeFeed.getChanges(since, 100).events();
+
+        assertThat(events).extracting(Event::entity, Event::entityId, Event::operation)
+                .containsExactly(tuple(EntityType.BOOK, kept.getId(), Operation.CREATED));
+        assertThat(events.get(0).data()).contains("Versão final");
+    }
+
+    @Test
+    void changesToExistingEntitiesKeepTheirOperation() {
+        Book updated = bookService.createBook(book("Antes"));
+        Book deleted = bookService.createBook(book("Será excluído"));
+        long since = head();
+        bookService.updateBook(updated.getId(), book("Depois"));
+        bookService.updateBook(deleted.getId(), book("Ainda existe"));
+        bookService.deleteBook(deleted.getId());
+
+        List<Event> events = changeFeed.getChanges(since, 100).events();
+
+        assertThat(events).extracting(Event::entityId, Event::operation).containsExactly(
+                tuple(updated.getId(), Operation.UPDATED),
+                tuple(deleted.getId(), Operation.DELETED));
+        assertThat(events.get(1).data()).isNull();
+    }
+
+    @Test
+    void cursorAdvancesOverCompactedEvents() {
+        long since = head();
+        Book book = bookService.createBook(book("v0"));
+        for (int i = 1; i <= 4; i++) {
+            bookService.updateBook(book.getId(), book("v" + i));
+        }
+
+        List<ChangeFeedPage> pages = new ArrayList<>();
+        long cursor = since;
+        ChangeFeedPage page;
+        do {
+            page = changeFeed.getChanges(cursor, 2);
+            pages.add(page);
+            assertThat(page.nextCursor()).isGreaterThan(cursor);
+            cursor = page.nextCursor();
+        } while (page.hasMore());
+
+        // Cinco eventos em páginas de dois: cada página traz o livro uma vez
+        assertThat(pages).hasSize(3);
+        assertThat(pages).allSatisfy(p -> assertThat(p.events()).hasSize(1));
+        assertThat(pages.get(0).events().get(0).operation()).isEqualTo(Operation.CREATED);
+        assertThat(pages.get(2).events().get(0).data()).contains("v4");
+
+        ChangeFeedPage end = changeFeed.getChanges(cursor, 2);
+        assertThat(end.events()).isEmpty();
+        assertThat(end.nextCursor()).isEqualTo(cursor);
+        assertThat(end.hasMore()).isFalse();
+    }
+
+    @Test
+    void deletedLoanIsRecorded() {
+        Book book = bookService.createBook(book("Emprestado"));
+        User user = userService.createUser(new User("Leitor", UUID.randomUUID() + "@example.com"));
+        Loan loan = loanService.createLoan(user.getId(), book.getId());
+        long since = head();
+
+        loanService.deleteLoan(loan.getId());
+
+        assertThat(changeFeed.getChanges(since, 100).events())
+                .extracting(Event::entity, Event::entityId, Event::operation)
+                .containsExactly(tuple(EntityType.LOAN, loan.getId(), Operation.DELETED));
+        assertThatThrownBy(() -> loanService.deleteLoan(loan.getId())).isInstanceOf(EntityNotFoundException.class);
+        assertThat(changeFeed.getChanges(since + 1, 100).events()).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> changeFeed.getChanges(-1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeed.getChanges(0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeed.getChanges(0, ChangeFeedService.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Cursor após o último evento já gravado
+    private long head() {
+        long cursor = 0;
+        ChangeFeedPage page;
+        do {
+            page = changeFeed.getChanges(cursor, ChangeFeedService.MAX_LIMIT);
+            cursor = page.nextCursor();
+        } while (page.hasMore());
+        return cursor;
+    }
+
+    private static Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Autor de Teste");
+        book.setStock(1);
+        return book;
+    }
+}
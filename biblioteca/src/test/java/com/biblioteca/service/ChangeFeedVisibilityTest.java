@@ -0,0 +1,75 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.biblioteca.dto.ChangeFeedPage;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.model.ChangeEvent.EntityType;
+import com.biblioteca.model.ChangeEvent.Operation;
+import com.biblioteca.repository.ChangeEventRepository;
+
+// Atraso padrão do feed, derivado do teto das transações, sobre o H2 do perfil loadtest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class ChangeFeedVisibilityTest {
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ChangeEventRepository changeRepo;
+
+    @Autowired
+    private JpaTransactionManager transactionManager;
+
+    @Test
+    void delayCoversTheLongestTransaction() {
+        assertThat(transactionManager.getDefaultTimeout()).isEqualTo(30);
+        assertThat(changeFeed.visibilityDelay()).isEqualTo(Duration.ofSeconds(32));
+    }
+
+    @Test
+    void recentEventsStayHiddenAndTheCursorDoesNotPassThem() {
+        long since = changeFeed.getChanges(0, ChangeFeedService.MAX_LIMIT).nextCursor();
+        Book book = new Book();
+        book.setTitle("Recém-criado");
+        book.setAuthor("Autor de Teste");
+        book.setStock(1);
+        Book created = bookService.createBook(book);
+
+        ChangeFeedPage page = changeFeed.getChanges(since, ChangeFeedService.MAX_LIMIT);
+
+        assertThat(page.events()).noneMatch(event -> event.entityId().equals(created.getId()));
+        assertThat(page.nextCursor()).isEqualTo(since);
+    }
+
+    @Test
+    void anInvisibleEventHoldsBackTheVisibleOnesAfterIt() {
+        long since = changeFeed.getChanges(0, ChangeFeedService.MAX_LIMIT).nextCursor();
+        // O ID menor ainda não é visível; o maior, gravado "antes", já é
+        ChangeEvent pending = changeRepo.save(new ChangeEvent(EntityType.BOOK, 901L, Operation.UPDATED,
+                LocalDateTime.now(), null));
+        ChangeEvent visible = changeRepo.save(new ChangeEvent(EntityType.BOOK, 902L, Operation.UPDATED,
+                LocalDateTime.now().minusHours(1), null));
+        assertThat(pending.getId()).isLessThan(visible.getId());
+
+        ChangeFeedPage page = changeFeed.getChanges(since, ChangeFeedService.MAX_LIMIT);
+
+        assertThat(page.events()).isEmpty();
+        assertThat(page.nextCursor()).isEqualTo(since);
+        assertThat(page.hasMore()).isFalse();
+    }
+}
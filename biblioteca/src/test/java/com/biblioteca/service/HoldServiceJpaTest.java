@@ -0,0 +1,10 @@
+package com.biblioteca.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Restrição uk_holds_waiting (waiting_key nula fora da espera) e bloqueio do livro sobre o H2 do perfil loadtest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class HoldServiceJpaTest extends HoldServiceTestBase {
+}
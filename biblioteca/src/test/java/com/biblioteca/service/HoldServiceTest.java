@@ -0,0 +1,10 @@
+package com.biblioteca.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "biblioteca.storage.memory.snapshot-file=")
+@ActiveProfiles("memory")
+class HoldServiceTest extends HoldServiceTestBase {
+}
@@ -0,0 +1,215 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.biblioteca.cache.HoldQueue;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Hold;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.HoldRepository;
+import com.biblioteca.repository.LoanRepository;
+
+// Casos comuns aos perfis memory (HoldServiceTest) e loadtest/H2 (HoldServiceJpaTest)
+abstract class HoldServiceTestBase {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private HoldRepository holdRepo;
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private HoldQueue holdQueue;
+
+    @Test
+    void holdIsRejectedWhileTheBookHasStock() {
+        Book book = newBook(1);
+
+        assertThatThrownBy(() -> holdService.placeHold(book.getId(), newUser().getId()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(holdRepo.findAllWaiting()).noneMatch(entry -> entry.bookId().equals(book.getId()));
+    }
+
+    @Test
+    void placingTwiceReturnsTheSameHold() {
+        Book book = newBook(1);
+        loanService.createLoan(newUser().getId(), book.getId());
+        User user = newUser();
+
+        HoldService.Placement first = holdService.placeHold(book.getId(), user.getId());
+        HoldService.Placement again = holdService.placeHold(book.getId(), user.getId());
+
+        assertThat(first.created()).isTrue();
+        assertThat(again.created()).isFalse();
+        assertThat(again.hold()).isEqualTo(first.hold());
+        assertThat(first.hold().position()).isEqualTo(1);
+    }
+
+    @Test
+    void returnLendsTheBookToTheFirstInLine() {
+        Book book = newBook(1);
+        Loan loan = loanService.createLoan(newUser().getId(), book.getId());
+        User first = newUser();
+        User second = newUser();
+        Long firstHold = holdService.placeHold(book.getId(), first.getId()).hold().holdId();
+        holdService.placeHold(book.getId(), second.getId());
+
+        loanService.returnLoan(loan.getId());
+
+        assertThat(stockOf(book)).isZero();
+        assertThat(loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(first.getId(), book.getId())).isTrue();
+        assertThat(holdRepo.findById(firstHold)).get().extracting(Hold::getStatus).isEqualTo(Hold.Status.FULFILLED);
+        assertThat(holdService.getPosition(book.getId(), second.getId()).position()).isEqualTo(1);
+    }
+
+    @Test
+    void raisingStockServesTheQueueInOrder() {
+        Book book = newBook(1);
+        loanService.createLoan(newUser().getId(), book.getId());
+        User first = newUser();
+        User second = newUser();
+        User third = newUser();
+        holdService.placeHold(book.getId(), first.getId());
+        holdService.placeHold(book.getId(), second.getId());
+        holdService.placeHold(book.getId(), third.getId());
+
+        Book edited = bookRepo.findById(book.getId()).orElseThrow();
+        edited.setStock(2);
+        Book saved = bookService.updateBook(book.getId(), edited);
+
+        assertThat(saved.getStock()).isZero();
+        assertThat(stockOf(book)).isZero();
+        assertThat(loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(first.getId(), book.getId())).isTrue();
+        assertThat(loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(second.getId(), book.getId())).isTrue();
+        assertThat(loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(third.getId(), book.getId())).isFalse();
+        assertThat(holdService.getPosition(book.getId(), third.getId()).position()).isEqualTo(1);
+    }
+
+    @Test
+    void loweringStockLeavesTheQueueAlone() {
+        Book book = newBook(2);
+        loanService.createLoan(newUser().getId(), book.getId());
+        loanService.createLoan(newUser().getId(), book.getId());
+        User waiting = newUser();
+        holdService.placeHold(book.getId(), waiting.getId());
+
+        Book edited = bookRepo.findById(book.getId()).orElseThrow();
+        edited.setTitle("Outro título");
+        bookService.updateBook(book.getId(), edited);
+
+        assertThat(holdService.getPosition(book.getId(), waiting.getId()).position()).isEqualTo(1);
+        assertThat(loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(waiting.getId(), book.getId())).isFalse();
+    }
+
+    @Test
+    void concurrentPlacementsOfTheSameUserKeepOneWaitingHold() throws Exception {
+        Book book = newBook(1);
+        loanService.createLoan(newUser().getId(), book.getId());
+        User user = newUser();
+        List<HoldService.Placement> placements = placeConcurrently(book, List.of(user, user, user, user, user, user));
+
+        assertThat(placements).extracting(placement -> placement.hold().holdId())
+                .containsOnly(placements.get(0).hold().holdId());
+        assertThat(placements).filteredOn(HoldService.Placement::created).hasSize(1);
+        assertThat(holdRepo.findAllWaiting()).filteredOn(entry -> entry.bookId().equals(book.getId())).hasSize(1);
+    }
+
+    @Test
+    void concurrentPlacementsOfDifferentUsersAreAllQueued() throws Exception {
+        Book book = newBook(1);
+        loanService.createLoan(newUser().getId(), book.getId());
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            users.add(newUser());
+        }
+        List<HoldService.Placement> placements = placeConcurrently(book, users);
+
+        assertThat(placements).allMatch(HoldService.Placement::created);
+        assertThat(holdRepo.findAllWaiting()).filteredOn(entry -> entry.bookId().equals(book.getId())).hasSize(users.size());
+        assertThat(users).extracting(user -> holdService.getPosition(book.getId(), user.getId()).position())
+                .containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    void staleHoldQueueDoesNotRefuseABookInStock() {
+        Book book = newBook(1);
+        User ghost = newUser();
+        // Reserva já atendida em outra instância, ainda na cópia em memória desta
+        holdQueue.added(Long.MAX_VALUE, book.getId(), ghost.getId());
+        try {
+            Loan loan = loanService.createLoan(newUser().getId(), book.getId());
+
+            assertThat(loan.getId()).isNotNull();
+            assertThat(stockOf(book)).isZero();
+        } finally {
+            holdQueue.removed(book.getId(), ghost.getId());
+        }
+    }
+
+    private List<HoldService.Placement> placeConcurrently(Book book, List<User> users) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        try {
+            List<Future<HoldService.Placement>> attempts = new ArrayList<>();
+            for (User user : users) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return holdService.placeHold(book.getId(), user.getId());
+                }));
+            }
+            start.countDown();
+            List<HoldService.Placement> placements = new ArrayList<>();
+            for (Future<HoldService.Placement> attempt : attempts) {
+                placements.add(attempt.get());
+            }
+            return placements;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Book newBook(int stock) {
+        Book book = new Book();
+        book.setTitle("Livro " + UUID.randomUUID());
+        book.setAuthor("Autor de Teste");
+        book.setStock(stock);
+        return bookService.createBook(book);
+    }
+
+    private User newUser() {
+        return userService.createUser(new User("Leitor", UUID.randomUUID() + "@example.com"));
+    }
+
+    private int stockOf(Book book) {
+        return bookRepo.findById(book.getId()).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,110 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.biblioteca.dto.LoanHistoryItem;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.ChangeEvent;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.ChangeEventRepository;
+import com.biblioteca.repository.LoanRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "biblioteca.storage.memory.snapshot-file=",
+        "biblioteca.archive.retention-days=30",
+        "biblioteca.archive.batch-size=2",
+        "biblioteca.archive.pause-ms=0" })
+@ActiveProfiles("memory")
+class LoanArchivalServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private LoanArchivalService archivalService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private ArchivedLoanRepository archiveRepo;
+
+    @Autowired
+    private ChangeEventRepository changeRepo;
+
+    @Test
+    void movesOldReturnedLoansInBatchesWithoutFeedEvents() {
+        User user = newUser();
+        Book book = newBook();
+        Loan first = loan(user, book, TODAY.minusDays(400), TODAY.minusDays(390));
+        Loan second = loan(user, book, TODAY.minusDays(200), TODAY.minusDays(190));
+        Loan third = loan(user, book, TODAY.minusDays(100), TODAY.minusDays(31));
+        Loan recent = loan(user, book, TODAY.minusDays(40), TODAY.minusDays(29));
+        Loan active = loan(user, book, TODAY.minusDays(90), null);
+
+        assertThat(archivalService.archiveReturnedLoans()).isGreaterThanOrEqualTo(3);
+
+        List<Long> archived = List.of(first.getId(), second.getId(), third.getId());
+        assertThat(loanRepo.findAllById(archived)).isEmpty();
+        assertThat(archiveRepo.findAllById(archived)).hasSize(3)
+                .allSatisfy(loan -> assertThat(loan.getArchivedAt()).isNotNull());
+        assertThat(loanRepo.findAllById(List.of(recent.getId(), active.getId()))).hasSize(2);
+        assertThat(changeRepo.findAll())
+                .filteredOn(event -> event.getEntityType() == ChangeEvent.EntityType.LOAN
+                        && archived.contains(event.getEntityId()))
+                .isEmpty();
+    }
+
+    @Test
+    void historyMergesActiveAndArchivedLoansNewestFirst() {
+        User user = newUser();
+        Book book = newBook();
+        Loan oldest = loan(user, book, TODAY.minusDays(400), TODAY.minusDays(390));
+        Loan sameDayFirst = loan(user, book, TODAY.minusDays(60), TODAY.minusDays(50));
+        Loan sameDaySecond = loan(user, book, TODAY.minusDays(60), TODAY.minusDays(45));
+        Loan current = loan(user, book, TODAY.minusDays(5), null);
+        archivalService.archiveReturnedLoans();
+
+        List<LoanHistoryItem> history = loanService.getLoanHistory(user.getId());
+
+        assertThat(history).extracting(LoanHistoryItem::loanId)
+                .containsExactly(current.getId(), sameDaySecond.getId(), sameDayFirst.getId(), oldest.getId());
+        assertThat(history).extracting(LoanHistoryItem::archived).containsExactly(false, true, true, true);
+        assertThat(history.get(3).returnDate()).isEqualTo(TODAY.minusDays(390));
+    }
+
+    private Loan loan(User user, Book book, LocalDate loanDate, LocalDate returnDate) {
+        return loanRepo.save(new Loan(user, book, loanDate, returnDate));
+    }
+
+    private Book newBook() {
+        Book book = new Book();
+        book.setTitle("Livro " + UUID.randomUUID());
+        book.setAuthor("Autor de Teste");
+        book.setStock(1);
+        return bookService.createBook(book);
+    }
+
+    private User newUser() {
+        return userService.createUser(new User("Leitor", UUID.randomUUID() + "@example.com"));
+    }
+}
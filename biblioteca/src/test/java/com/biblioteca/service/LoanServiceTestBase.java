@@ -0,0 +1,166 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.biblioteca.dto.BatchReturnResult;
+import com.biblioteca.dto.BatchReturnResult.Status;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+
+// Casos comuns aos perfis memory (LoanServiceTest) e loadtest/H2 (LoanServiceJpaTest)
+abstract class LoanServiceTestBase {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private LoanRepository loanRepo;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Test
+    void createAndReturnAdjustStock() {
+        Book book = newBook(1);
+        User user = newUser();
+
+        Loan loan = loanService.createLoan(user.getId(), book.getId());
+        assertThat(stockOf(book)).isZero();
+        assertThatThrownBy(() -> loanService.createLoan(newUser().getId(), book.getId()))
+                .isInstanceOf(IllegalStateException.class);
+
+        loanService.returnLoan(loan.getId());
+        assertThat(stockOf(book)).isEqualTo(1);
+        assertThatThrownBy(() -> loanService.returnLoan(loan.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stockOf(book)).isEqualTo(1);
+    }
+
+    @Test
+    void batchReturnReportsEachLoanAndAddsStockPerBook() {
+        Book first = newBook(2);
+        Book second = newBook(1);
+        Loan a = loanService.createLoan(newUser().getId(), first.getId());
+        Loan b = loanService.createLoan(newUser().getId(), first.getId());
+        Loan c = loanService.createLoan(newUser().getId(), second.getId());
+        loanService.returnLoan(c.getId());
+
+        BatchReturnResult result = loanService.returnLoans(List.of(a.getId(), b.getId(), c.getId(), a.getId(), -1L));
+
+        assertThat(result.returned()).isEqualTo(2);
+        assertThat(result.results()).containsExactly(
+                new BatchReturnResult.Item(a.getId(), Status.RETURNED),
+                new BatchReturnResult.Item(b.getId(), Status.RETURNED),
+                new BatchReturnResult.Item(c.getId(), Status.ALREADY_RETURNED),
+                new BatchReturnResult.Item(-1L, Status.NOT_FOUND));
+        assertThat(stockOf(first)).isEqualTo(2);
+        assertThat(stockOf(second)).isEqualTo(1);
+        assertThat(loanRepo.findById(a.getId())).get().extracting(Loan::getReturnDate).isNotNull();
+    }
+
+    @Test
+    void batchReturnServesTheHoldsOfTheReturnedBooks() {
+        Book book = newBook(2);
+        Loan a = loanService.createLoan(newUser().getId(), book.getId());
+        Loan b = loanService.createLoan(newUser().getId(), book.getId());
+        User waiting = newUser();
+        holdService.placeHold(book.getId(), waiting.getId());
+
+        BatchReturnResult result = loanService.returnLoans(List.of(a.getId(), b.getId()));
+
+        assertThat(result.returned()).isEqualTo(2);
+        assertThat(loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(waiting.getId(), book.getId())).isTrue();
+        assertThat(stockOf(book)).isEqualTo(1);
+    }
+
+    @Test
+    void batchReturnOfReturnedLoansChangesNothing() {
+        Book book = newBook(1);
+        Loan loan = loanService.createLoan(newUser().getId(), book.getId());
+        loanService.returnLoans(List.of(loan.getId()));
+
+        BatchReturnResult again = loanService.returnLoans(List.of(loan.getId()));
+
+        assertThat(again.returned()).isZero();
+        assertThat(again.results()).containsExactly(new BatchReturnResult.Item(loan.getId(), Status.ALREADY_RETURNED));
+        assertThat(stockOf(book)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCheckoutsOfTheLastCopyLendItOnce() throws Exception {
+        Book book = newBook(1);
+        int threads = 8;
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            users.add(newUser());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (User user : users) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        loanService.createLoan(user.getId(), book.getId());
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int lent = 0;
+            for (Future<Boolean> attempt : attempts) {
+                lent += attempt.get() ? 1 : 0;
+            }
+            assertThat(lent).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(stockOf(book)).isZero();
+        assertThat(users).filteredOn(user -> loanRepo.existsByUserIdAndBookIdAndReturnDateIsNull(user.getId(), book.getId()))
+                .hasSize(1);
+    }
+
+    private Book newBook(int stock) {
+        Book book = new Book();
+        book.setTitle("Livro " + UUID.randomUUID());
+        book.setAuthor("Autor de Teste");
+        book.setStock(stock);
+        return bookService.createBook(book);
+    }
+
+    private User newUser() {
+        return userService.createUser(new User("Leitor", UUID.randomUUID() + "@example.com"));
+    }
+
+    private int stockOf(Book book) {
+        return bookRepo.findById(book.getId()).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,59 @@
+package com.biblioteca.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.biblioteca.model.User;
+import com.biblioteca.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class UserServiceJpaTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void duplicateEmailIsAConflict() {
+        String email = UUID.randomUUID() + "@example.com";
+        userService.createUser(new User("Ana", email));
+        User other = userService.createUser(new User("Bia", UUID.randomUUID() + "@example.com"));
+
+        assertThatThrownBy(() -> userService.createUser(new User("Outra Ana", email)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> userService.updateUser(other.getId(), new User("Bia", email)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(userRepo.findById(other.getId())).get().extracting(User::getEmail).isNotEqualTo(email);
+    }
+
+    @Test
+    void duplicateEmailIsAConflictUnderTheLegacyIndexName() {
+        // Bancos criados com @Column(unique = true) têm o índice com nome gerado pelo Hibernate
+        jdbc.execute("alter table users drop constraint uk_users_email");
+        jdbc.execute("alter table users add constraint ukr43af9ap4edm43mmtq01oddj6 unique (email)");
+        try {
+            String email = UUID.randomUUID() + "@example.com";
+            userService.createUser(new User("Caio", email));
+
+            assertThatThrownBy(() -> userService.createUser(new User("Outro Caio", email)))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            jdbc.execute("alter table users drop constraint ukr43af9ap4edm43mmtq01oddj6");
+            jdbc.execute("alter table users add constraint uk_users_email unique (email)");
+        }
+    }
+}
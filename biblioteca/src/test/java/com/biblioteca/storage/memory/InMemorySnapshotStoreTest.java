@@ -0,0 +1,111 @@
+package com.biblioteca.storage.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.storage.memory.InMemorySnapshotStore.BookRow;
+import com.biblioteca.storage.memory.InMemorySnapshotStore.HoldRow;
+import com.biblioteca.storage.memory.InMemorySnapshotStore.LoanRow;
+import com.biblioteca.storage.memory.InMemorySnapshotStore.Snapshot;
+import com.biblioteca.storage.memory.InMemorySnapshotStore.UserRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("memory")
+class InMemorySnapshotStoreTest {
+
+    // Arquivo novo a cada execução: o contexto grava o snapshot ao ser encerrado
+    private static final Path FILE = Path.of("target", "memory-snapshot-test-" + UUID.randomUUID() + ".json");
+
+    @DynamicPropertySource
+    static void snapshotFile(DynamicPropertyRegistry registry) {
+        registry.add("biblioteca.storage.memory.snapshot-file", FILE::toString);
+    }
+
+    @Autowired
+    private InMemorySnapshotStore store;
+
+    @Autowired
+    private InMemoryBookRepository bookRepo;
+
+    @Autowired
+    private InMemoryUserRepository userRepo;
+
+    @Autowired
+    private InMemoryLoanRepository loanRepo;
+
+    @Autowired
+    private InMemoryHoldRepository holdRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(FILE);
+    }
+
+    @Test
+    void savesTheLastIdOfRemovedRows() throws IOException {
+        Book book = bookRepo.save(book("A Moreninha"));
+        User user = userRepo.save(new User("Leitor", "snapshot.sequence@example.com"));
+        Loan archived = loanRepo.save(new Loan(user, book, LocalDate.now(), LocalDate.now()));
+        // Como o arquivamento: a linha sai da tabela ativa, o ID continua usado
+        loanRepo.deleteById(archived.getId());
+
+        store.save();
+
+        Snapshot snapshot = objectMapper.readValue(FILE.toFile(), Snapshot.class);
+        assertThat(snapshot.sequences()).containsEntry("loans", archived.getId());
+        assertThat(snapshot.loans()).extracting(LoanRow::id).doesNotContain(archived.getId());
+    }
+
+    @Test
+    void loadRestoresSequencesAndSkipsOrphans() throws IOException {
+        long base = loanRepo.lastId() + 1_000;
+        Snapshot snapshot = new Snapshot(1,
+                List.of(new BookRow(base, "O Guarani", "José de Alencar", 1, List.of(), true)),
+                List.of(new UserRow(base, "Leitor", "snapshot.load@example.com")),
+                List.of(new LoanRow(base, base, base, LocalDate.now(), null),
+                        new LoanRow(base + 1, base + 99, base, LocalDate.now(), null)),
+                List.of(), List.of(), List.of(),
+                List.of(new HoldRow(base, base, base + 99, null, null, null)),
+                Map.of("loans", base + 500, "holds", base + 500));
+        objectMapper.writeValue(FILE.toFile(), snapshot);
+
+        store.load();
+
+        assertThat(loanRepo.findById(base)).isPresent();
+        assertThat(loanRepo.findById(base + 1)).isEmpty();
+        assertThat(holdRepo.findById(base)).isEmpty();
+        Loan next = loanRepo.save(new Loan(userRepo.findById(base).orElseThrow(),
+                bookRepo.findById(base).orElseThrow(), LocalDate.now(), LocalDate.now()));
+        assertThat(next.getId()).isEqualTo(base + 501);
+    }
+
+    private static Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Joaquim Manuel de Macedo");
+        book.setStock(1);
+        return book;
+    }
+}
@@ -0,0 +1,85 @@
+package com.biblioteca.storage.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.service.UserService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "biblioteca.storage.memory.snapshot-file=")
+@ActiveProfiles("memory")
+class InMemoryStorageTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private BookRepository bookRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void failedUpdateKeepsStoredRowAndEmailIndex() {
+        User ana = userService.createUser(new User("Ana", "ana.storage@example.com"));
+        User bia = userService.createUser(new User("Bia", "bia.storage@example.com"));
+
+        assertThatThrownBy(() -> userService.updateUser(bia.getId(), new User("Bia", "ANA.storage@example.com")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(userRepo.findById(bia.getId())).get()
+                .extracting(User::getEmail).isEqualTo("bia.storage@example.com");
+        assertThat(userRepo.findByEmail("bia.storage@example.com")).get()
+                .extracting(User::getId).isEqualTo(bia.getId());
+        assertThat(userRepo.findByEmail("ana.storage@example.com")).get()
+                .extracting(User::getId).isEqualTo(ana.getId());
+    }
+
+    @Test
+    void changesToLoadedEntityNeedSave() {
+        Book book = bookRepo.save(book("Dom Casmurro", "Machado de Assis", 2));
+
+        bookRepo.findById(book.getId()).orElseThrow().setStock(0);
+
+        assertThat(bookRepo.findById(book.getId())).get().extracting(Book::getStock).isEqualTo(2);
+    }
+
+    @Test
+    void rollbackUndoesWritesOfTheTransaction() {
+        Book kept = bookRepo.save(book("Iracema", "José de Alencar", 3));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            Book book = bookRepo.findById(kept.getId()).orElseThrow();
+            book.setStock(book.getStock() - 1);
+            bookRepo.save(book);
+            bookRepo.save(book("Senhora", "José de Alencar", 1));
+            userRepo.save(new User("Caio", "caio.storage@example.com"));
+            throw new IllegalStateException("falha depois das gravações");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bookRepo.findById(kept.getId())).get().extracting(Book::getStock).isEqualTo(3);
+        assertThat(bookRepo.findByTitleContainingIgnoreCase("Senhora")).isEmpty();
+        assertThat(userRepo.existsByEmail("caio.storage@example.com")).isFalse();
+    }
+
+    private static Book book(String title, String author, int stock) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setStock(stock);
+        return book;
+    }
+}
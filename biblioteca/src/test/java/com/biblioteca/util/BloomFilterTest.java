@@ -0,0 +1,69 @@
+package com.biblioteca.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void sizesBitsAndHashesFromExpectedInsertionsAndRate() {
+        // m = -n ln p / (ln 2)^2 = 9586 bits, arredondado para palavras de 64; k = m/n ln 2
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(filter.bitCount()).isEqualTo(9600);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void keepsAMinimumSizeForEmptyExpectations() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        filter.put("a@example.com");
+
+        assertThat(filter.bitCount()).isEqualTo(64);
+        assertThat(filter.hashCount()).isPositive();
+        assertThat(filter.mightContain("a@example.com")).isTrue();
+    }
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).as("user%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void staysNearTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void stillAnswersWhenOverfilled() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // Acima da capacidade a taxa de falsos positivos sobe, mas não há falsos negativos
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+    }
+}
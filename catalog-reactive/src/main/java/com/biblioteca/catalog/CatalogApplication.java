@@ -0,0 +1,24 @@
+package com.biblioteca.catalog;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * API de leitura do catálogo público em pilha não bloqueante (WebFlux +
+ * R2DBC). Lê as mesmas tabelas da aplicação principal, que continua
+ * responsável pela escrita e pelo esquema.
+ *
+ * A configuração fica em {@code catalog.properties}, para não colidir com o
+ * {@code application.properties} que vem no jar da aplicação principal.
+ */
+@SpringBootApplication
+public class CatalogApplication {
+
+    public static final String CONFIG_NAME = "spring.config.name=catalog";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(CatalogApplication.class)
+                .properties(CONFIG_NAME)
+                .run(args);
+    }
+}
@@ -0,0 +1,82 @@
+package com.biblioteca.catalog;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.Book;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de leitura da tabela {@code book} via R2DBC. O mapeamento é
+ * feito à mão para o {@link Book} da aplicação principal, cujas anotações
+ * JPA não são interpretadas aqui.
+ */
+@Repository
+public class CatalogBookRepository {
+
+    private static final String SELECT = "SELECT id, title, author, stock FROM book";
+
+    @Autowired
+    private DatabaseClient db;
+
+    // Listar todos os livros
+    public Flux<Book> findAll() {
+        return db.sql(SELECT + " ORDER BY id")
+                .map(CatalogBookRepository::toBook)
+                .all();
+    }
+
+    // Buscar livro por ID
+    public Mono<Book> findById(Long id) {
+        return db.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(CatalogBookRepository::toBook)
+                .one();
+    }
+
+    // Buscar livros contendo parte do título (ignorando maiúsculas/minúsculas)
+    public Flux<Book> findByTitleContainingIgnoreCase(String title) {
+        return containing("title", title);
+    }
+
+    // Buscar livros contendo parte do nome do autor (ignorando maiúsculas/minúsculas)
+    public Flux<Book> findByAuthorContainingIgnoreCase(String author) {
+        return containing("author", author);
+    }
+
+    // Estoque atual de um livro, sem montar a entidade
+    public Mono<Integer> findStockById(Long id) {
+        return db.sql("SELECT stock FROM book WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("stock", Integer.class))
+                .one();
+    }
+
+    private Flux<Book> containing(String column, String value) {
+        return db.sql(SELECT + " WHERE LOWER(" + column + ") LIKE :pattern ORDER BY id")
+                .bind("pattern", "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%")
+                .map(CatalogBookRepository::toBook)
+                .all();
+    }
+
+    // Mesmo comportamento do "Containing" do Spring Data: % e _ são literais
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Book toBook(Readable row) {
+        Book book = new Book();
+        book.setId(row.get("id", Long.class));
+        book.setTitle(row.get("title", String.class));
+        book.setAuthor(row.get("author", String.class));
+        Integer stock = row.get("stock", Integer.class);
+        book.setStock(stock == null ? 0 : stock);
+        return book;
+    }
+}
@@ -0,0 +1,100 @@
+package com.biblioteca.catalog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.biblioteca.model.Book;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/books")
+@Tag(name = "Catálogo", description = "Consulta pública do acervo (somente leitura)")
+public class CatalogController {
+
+    @Autowired
+    private CatalogBookRepository bookRepository;
+
+    @Operation(
+        summary = "Listar todos os livros",
+        description = "Retorna uma lista com todos os livros do acervo"
+    )
+    @ApiResponse(responseCode = "200", description = "Lista de livros retornada com sucesso")
+    @GetMapping
+    public Flux<Book> getAllBooks() {
+        return bookRepository.findAll();
+    }
+
+    @Operation(
+        summary = "Buscar livro por ID",
+        description = "Retorna um livro específico baseado no ID fornecido"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Livro encontrado com sucesso",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = Book.class))),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Book>> getBookById(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id) {
+        return bookRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+        summary = "Buscar livros por título",
+        description = "Retorna livros que contenham o título especificado (busca parcial)"
+    )
+    @ApiResponse(responseCode = "200", description = "Lista de livros encontrados")
+    @GetMapping("/search/title")
+    public Flux<Book> searchByTitle(
+            @Parameter(description = "Título ou parte do título do livro", required = true, example = "1984")
+            @RequestParam String title) {
+        return bookRepository.findByTitleContainingIgnoreCase(title);
+    }
+
+    @Operation(
+        summary = "Buscar livros por autor",
+        description = "Retorna livros que contenham o autor especificado (busca parcial)"
+    )
+    @ApiResponse(responseCode = "200", description = "Lista de livros encontrados")
+    @GetMapping("/search/author")
+    public Flux<Book> searchByAuthor(
+            @Parameter(description = "Nome ou parte do nome do autor", required = true, example = "Orwell")
+            @RequestParam String author) {
+        return bookRepository.findByAuthorContainingIgnoreCase(author);
+    }
+
+    @Operation(
+        summary = "Verificar disponibilidade de um livro",
+        description = "Verifica se um livro está disponível para empréstimo (estoque > 0)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status de disponibilidade retornado"),
+        @ApiResponse(responseCode = "404", description = "Livro não encontrado")
+    })
+    @GetMapping("/{id}/available")
+    public Mono<ResponseEntity<String>> isBookAvailable(
+            @Parameter(description = "ID do livro", required = true, example = "1")
+            @PathVariable Long id) {
+        return bookRepository.findStockById(id)
+                .map(stock -> ResponseEntity.ok(stock > 0 ? "Disponível" : "Indisponível"))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
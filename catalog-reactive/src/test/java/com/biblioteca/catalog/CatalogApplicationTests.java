@@ -0,0 +1,49 @@
+package com.biblioteca.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = {
+        CatalogApplication.CONFIG_NAME,
+        "spring.r2dbc.url=" + SharedSchema.R2DBC_URL,
+        "spring.r2dbc.username=sa",
+        "spring.sql.init.mode=always"
+})
+@ContextConfiguration(initializers = SharedSchema.class)
+@AutoConfigureWebTestClient
+class CatalogApplicationTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Test
+	void readsBooksFromSharedSchema() {
+		client.get().uri("/books").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.length()").isEqualTo(3);
+
+		client.get().uri("/books/1").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.title").isEqualTo("1984");
+
+		client.get().uri("/books/99").exchange()
+				.expectStatus().isNotFound();
+
+		client.get().uri("/books/search/author?author=orwell").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.length()").isEqualTo(2);
+
+		client.get().uri("/books/search/title?title=100%").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$[0].id").isEqualTo(3);
+
+		client.get().uri("/books/2/available").exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("Indisponível");
+	}
+
+}
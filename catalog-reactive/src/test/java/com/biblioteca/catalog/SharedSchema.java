@@ -0,0 +1,74 @@
+package com.biblioteca.catalog;
+
+import java.util.List;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import com.biblioteca.model.Book;
+
+import jakarta.persistence.Entity;
+
+/**
+ * Cria no H2 dos testes o esquema que o Hibernate gera na aplicação principal,
+ * a partir das entidades do {@code biblioteca-model} e com as mesmas
+ * estratégias de nomes do Spring Boot. Assim uma coluna nova no modelo chega
+ * aos testes do catálogo sem um {@code schema.sql} copiado à mão.
+ *
+ * Roda antes do contexto subir, para que o {@code data.sql} já encontre as
+ * tabelas.
+ */
+class SharedSchema implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final String OPTIONS = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // Mesmo banco em memória, visto pelo JDBC (Hibernate) e pelo R2DBC (aplicação)
+    static final String JDBC_URL = "jdbc:h2:mem:catalog;" + OPTIONS;
+    static final String R2DBC_URL = "r2dbc:h2:mem:///catalog;" + OPTIONS;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, JDBC_URL)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .build();
+        try {
+            MetadataSources sources = new MetadataSources(registry);
+            entities().forEach(sources::addAnnotatedClass);
+            // O esquema é criado ao abrir a SessionFactory, como o ddl-auto da aplicação
+            sources.buildMetadata().buildSessionFactory().close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    // Todas as entidades do pacote do modelo, não só as lidas pelo catálogo
+    private static List<Class<?>> entities() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        return scanner.findCandidateComponents(Book.class.getPackageName()).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .<Class<?>>map(SharedSchema::load)
+                .toList();
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+INSERT INTO book (id, title, author, stock, authors_synced) VALUES (1, '1984', 'George Orwell', 3, TRUE);
+INSERT INTO book (id, title, author, stock, authors_synced) VALUES (2, 'A Revolução dos Bichos', 'George Orwell', 0, TRUE);
+INSERT INTO book (id, title, author, stock, authors_synced) VALUES (3, '100% Java', 'Ana Silva', 1, TRUE);